@@ -0,0 +1,485 @@
+package e.binary;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import e.java.E;
+import e.java.ECatalog;
+import e.java.EException;
+import e.java.ELimits;
+import e.java.ENameRegistry;
+import e.java.EOr;
+import e.java.codec.Codec;
+import e.java.codec.Decoder;
+
+/**
+ * A codec for E based on a compact binary format, encoding into and decoding from ByteBuffers directly
+ *
+ * <p>An encoded E starts with the version of the format as a byte, followed by the E and its causes in depth-first order.
+ * Each E is encoded as:</p>
+ *
+ * <ol>
+ *     <li>A byte of flags telling which of template id, code, name, message, data, time and causes are present</li>
+ *     <li>Template id as a varint, followed by the fingerprint of the template as 4 bytes, see {@link e.java.ECatalog#fingerprint}</li>
+ *     <li>Code as a zigzag encoded varint</li>
+ *     <li>Name and message as strings</li>
+ *     <li>Number of data entries as a varint, followed by keys and values as strings</li>
+ *     <li>Time as a zigzag encoded varlong</li>
+ *     <li>Number of causes as a varint, followed by the causes</li>
+ * </ol>
+ *
+ * <p>A string is written as a varint reference, 0 meaning null, 1 meaning a new string follows as varint length and UTF-8 bytes,
+ * and any other value referring to a string written before. So a repeated name, key or value is written once per encoded E.</p>
+ *
+ * <p>An E derived from a template in {@link e.java.ECatalog} is written with the id of its template,
+ * and its code, name and message are written only if they are different from those of the template.
+ * So both sides must register the same templates with the same ids. Decoding fails if the template registered with a written id
+ * has another fingerprint, instead of decoding another error.</p>
+ *
+ * <p>Neither encoding nor decoding uses recursion. Decoding fails for an E exceeding {@link e.java.ELimits#defaults}, see {@link e.binary.EBinaryCodec#withLimits}.</p>
+ */
+public final class EBinaryCodec implements Codec<E, ByteBuffer> {
+    /** Version of the format, written first so the format can evolve */
+    static final byte version = 1;
+
+    private static final int codeFlag    = 1;
+    private static final int nameFlag    = 1 << 1;
+    private static final int messageFlag = 1 << 2;
+    private static final int dataFlag    = 1 << 3;
+    private static final int timeFlag    = 1 << 4;
+    private static final int causesFlag  = 1 << 5;
+    private static final int templateFlag = 1 << 6;
+    private static final int allFlags    = (1 << 7) - 1;
+
+    private static final int nullString = 0;
+    private static final int newString = 1;
+    private static final int firstStringReference = 2;
+
+    /** Initial capacity of a buffer allocated for encoding, doubled until the encoded value fits */
+    private static final int initialCapacity = 256;
+
+    private static final EBinaryCodec instance = new EBinaryCodec(ELimits.defaults);
+
+    private final ELimits limits;
+
+    private EBinaryCodec(ELimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * @return Codec failing to decode an E exceeding {@link e.java.ELimits#defaults}
+     */
+    public static EBinaryCodec get() {
+        return instance;
+    }
+
+    /**
+     * Creates a codec failing to decode an E exceeding given limits
+     *
+     * @param limits Limits of a decoded E
+     *
+     * @return A new codec with given limits
+     *
+     * @throws IllegalArgumentException If limits are null
+     */
+    public EBinaryCodec withLimits(ELimits limits) {
+        if (limits == null) { throw new IllegalArgumentException("Limits cannot be null!"); }
+
+        return new EBinaryCodec(limits);
+    }
+
+    /**
+     * Encodes given E into a new buffer
+     *
+     * @param e An E
+     *
+     * @return A heap buffer, ready to be read, containing encoded E
+     *
+     * @throws IllegalArgumentException If E or any of its causes is null
+     */
+    @Override public ByteBuffer encode(E e) {
+        return encodeGrowing(buffer -> encodeInto(e, buffer));
+    }
+
+    /**
+     * Encodes given E into given buffer, starting from its position and advancing it
+     *
+     * @param e      An E
+     * @param buffer A buffer
+     *
+     * @return Given buffer for chaining
+     *
+     * @throws IllegalArgumentException If E or any of its causes is null
+     * @throws BufferOverflowException  If given buffer doesn't have enough space, in which case it contains a partially encoded E
+     */
+    public ByteBuffer encodeInto(E e, ByteBuffer buffer) {
+        if (e == null) { throw new IllegalArgumentException("E cannot be null!"); }
+
+        buffer.put(version);
+
+        Map<String, Integer> strings = new HashMap<>();
+        ArrayDeque<E> remaining = new ArrayDeque<>();
+        remaining.push(e);
+
+        while (!remaining.isEmpty()) {
+            E current = remaining.pop();
+
+            E template = current.template().orElse(null);
+
+            // A template's code cannot be removed from an E derived from it, this is only for an E constructed otherwise
+            if (template != null && template.hasCode() && !current.hasCode()) { template = null; }
+
+            boolean writeCode    = template == null ? current.hasCode()    : !current.code().equals(template.code());
+            boolean writeName    = template == null ? current.hasName()    : !current.name().equals(template.name());
+            boolean writeMessage = template == null ? current.hasMessage() : !current.message().equals(template.message());
+
+            int flags = (template != null     ? templateFlag : 0) |
+                        (writeCode            ? codeFlag     : 0) |
+                        (writeName            ? nameFlag     : 0) |
+                        (writeMessage         ? messageFlag  : 0) |
+                        (current.hasData()    ? dataFlag     : 0) |
+                        (current.hasTime()    ? timeFlag     : 0) |
+                        (current.hasCause()   ? causesFlag   : 0);
+
+            buffer.put((byte) flags);
+
+            if (template != null) {
+                writeVarInt(buffer, current.templateId().get());
+                buffer.putInt(ECatalog.fingerprint(template));
+            }
+
+            if (writeCode) { writeVarInt(buffer, zigzag(current.code().get())); }
+
+            if (writeName) { writeString(buffer, current.name().orElse(null), strings); }
+
+            if (writeMessage) { writeString(buffer, current.message().orElse(null), strings); }
+
+            if (current.hasData()) {
+                writeVarInt(buffer, current.data().size());
+                for (Map.Entry<String, String> entry : current.data().entrySet()) {
+                    writeString(buffer, entry.getKey(), strings);
+                    writeString(buffer, entry.getValue(), strings);
+                }
+            }
+
+            if (current.hasTime()) { writeVarLong(buffer, zigzag(current.time().get())); }
+
+            if (current.hasCause()) {
+                List<E> causes = current.causes();
+                writeVarInt(buffer, causes.size());
+
+                // Pushed in reverse so they are popped, and written, in order
+                for (int i = causes.size() - 1; i >= 0; i--) {
+                    E cause = causes.get(i);
+                    if (cause == null) { throw new IllegalArgumentException("Cause cannot be null!"); }
+                    remaining.push(cause);
+                }
+            }
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Decodes an E from given buffer, starting from its position
+     *
+     * <p>If decoding succeeds, position of the buffer is advanced to the end of the decoded E. Otherwise, it is left as is.
+     * Strings are decoded directly from the array of a heap buffer.</p>
+     *
+     * @param buffer A buffer
+     *
+     * @return Decoded E or decoding failure
+     */
+    @Override public EOr<E> decode(ByteBuffer buffer) {
+        int start = buffer.position();
+
+        try {
+            return new EOr.Success<>(read(buffer));
+        } catch (EException ee) {
+            buffer.position(start);
+            return new EOr.Failure<>(ee.e);
+        } catch (BufferUnderflowException bue) {
+            buffer.position(start);
+            return new EOr.Failure<>(Decoder.decodingError.cause(E.fromMessage("Unexpected end of input")));
+        }
+    }
+
+    private E read(ByteBuffer buffer) {
+        byte readVersion = buffer.get();
+        if (readVersion != version) { throw failure("version", "Expected: " + version); }
+
+        List<String> strings = new ArrayList<>();
+
+        // Builders of E whose causes are being read, each with number of its causes left to read
+        ArrayDeque<E.Builder> builders = new ArrayDeque<>();
+        ArrayDeque<int[]> causesLeft = new ArrayDeque<>();
+
+        while (true) {
+            int flags = buffer.get() & 0xFF;
+            if ((flags & ~allFlags) != 0) { throw failure("flags", "Expected: At most " + allFlags); }
+
+            E.Builder builder = (flags & templateFlag) != 0 ? readTemplate(buffer).toBuilder() : E.builder();
+
+            if ((flags & codeFlag) != 0) { builder.code(unzigzag(readVarInt(buffer))); }
+
+            if ((flags & nameFlag) != 0) { builder.name(readString(buffer, strings, "name")); }
+
+            if ((flags & messageFlag) != 0) { builder.message(readString(buffer, strings, "message")); }
+
+            if ((flags & dataFlag) != 0) {
+                int size = readCount(buffer, "data");
+                if (size > limits.maxDataEntries()) { throw exceeded("data", "maxDataEntries", limits.maxDataEntries()); }
+
+                for (int i = 0; i < size; i++) {
+                    String key = readString(buffer, strings, "data");
+                    String value = readString(buffer, strings, "data");
+
+                    // Adding a single entry would turn a null value into "null"
+                    if (value == null) { builder.data(Collections.singletonMap(ENameRegistry.get().canonical(key), null)); } else { builder.data(key, value); }
+                }
+            }
+
+            if ((flags & timeFlag) != 0) { builder.time(unzigzag(readVarLong(buffer))); }
+
+            if ((flags & causesFlag) != 0) {
+                int size = readCount(buffer, "causes");
+                if (size == 0) { throw failure("causes", "Expected: At least 1"); }
+                if (builders.size() >= limits.maxDepth()) { throw exceeded("causes", "maxDepth", limits.maxDepth()); }
+                if (size > limits.maxCauses()) { throw exceeded("causes", "maxCauses", limits.maxCauses()); }
+
+                builders.push(builder);
+                causesLeft.push(new int[] { size });
+                continue;
+            }
+
+            // Add the decoded E to the E it is a cause of, building that one too if this is its last cause
+            E decoded = ENameRegistry.get().canonical(builder.build());
+
+            while (true) {
+                if (builders.isEmpty()) { return decoded; }
+
+                builders.peek().cause(decoded);
+
+                if (--causesLeft.peek()[0] > 0) { break; }
+
+                causesLeft.pop();
+                decoded = ENameRegistry.get().canonical(builders.pop().build());
+            }
+        }
+    }
+
+    private static E readTemplate(ByteBuffer buffer) {
+        int id = readVarInt(buffer);
+        int fingerprint = buffer.getInt();
+
+        E template = ECatalog.get().byId(id).orElseThrow(() -> failure("template", "Expected: A reference to a registered template"));
+
+        if (ECatalog.fingerprint(template) != fingerprint) { throw failure("template", "Expected: Template " + id + " with fingerprint " + fingerprint); }
+
+        return template;
+    }
+
+    private String readString(ByteBuffer buffer, List<String> strings, String key) {
+        int reference = readVarInt(buffer);
+
+        if (reference == nullString) { return null; }
+
+        if (reference != newString) {
+            int index = reference - firstStringReference;
+            if (index < 0 || index >= strings.size()) { throw failure(key, "Expected: A reference to one of " + strings.size() + " strings"); }
+
+            return strings.get(index);
+        }
+
+        int length = readCount(buffer, key);
+
+        // A char takes at most 3 bytes in UTF-8, so a longer string is rejected without decoding it
+        if (length > 3L * limits.maxStringLength()) { throw exceeded(key, "maxStringLength", limits.maxStringLength()); }
+
+        String s;
+
+        if (buffer.hasArray()) {
+            s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        if (s.length() > limits.maxStringLength()) { throw exceeded(key, "maxStringLength", limits.maxStringLength()); }
+
+        strings.add(s);
+
+        return s;
+    }
+
+    /** Reads a varint as a number of things that follow, each taking at least a byte */
+    private static int readCount(ByteBuffer buffer, String key) {
+        int count = readVarInt(buffer);
+        if (count < 0 || count > buffer.remaining()) { throw failure(key, "Expected: A size of at most " + buffer.remaining()); }
+
+        return count;
+    }
+
+    private static void writeString(ByteBuffer buffer, String s, Map<String, Integer> strings) {
+        if (s == null) {
+            writeVarInt(buffer, nullString);
+            return;
+        }
+
+        Integer index = strings.get(s);
+
+        if (index != null) {
+            writeVarInt(buffer, firstStringReference + index);
+            return;
+        }
+
+        strings.put(s, strings.size());
+        writeVarInt(buffer, newString);
+        writeVarInt(buffer, utf8Length(s));
+
+        // Same bytes as s.getBytes(StandardCharsets.UTF_8), without allocating them
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate cannot be encoded
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(String s) {
+        int length = 0;
+
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    /** Encodes with given encoder into a heap buffer, doubling its capacity until the encoded value fits */
+    static ByteBuffer encodeGrowing(Consumer<ByteBuffer> encoder) {
+        int capacity = initialCapacity;
+
+        while (true) {
+            ByteBuffer buffer = ByteBuffer.allocate(capacity);
+
+            try {
+                encoder.accept(buffer);
+                return buffer.flip();
+            } catch (BufferOverflowException boe) {
+                capacity *= 2;
+            }
+        }
+    }
+
+    /** Writes given int as an unsigned varint, 7 bits per byte, least significant group first */
+    static void writeVarInt(ByteBuffer buffer, int i) {
+        while ((i & ~0x7F) != 0) {
+            buffer.put((byte) ((i & 0x7F) | 0x80));
+            i >>>= 7;
+        }
+
+        buffer.put((byte) i);
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        int result = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) { return result; }
+        }
+
+        throw failure("varint", "Expected: At most 5 bytes");
+    }
+
+    private static void writeVarLong(ByteBuffer buffer, long l) {
+        while ((l & ~0x7FL) != 0) {
+            buffer.put((byte) ((l & 0x7F) | 0x80));
+            l >>>= 7;
+        }
+
+        buffer.put((byte) l);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) { return result; }
+        }
+
+        throw failure("varlong", "Expected: At most 10 bytes");
+    }
+
+    // Zigzag encoding maps signed numbers to unsigned ones so that small negative numbers take a few bytes too
+    private static int zigzag(int i) {
+        return (i << 1) ^ (i >> 31);
+    }
+
+    private static int unzigzag(int i) {
+        return (i >>> 1) ^ -(i & 1);
+    }
+
+    private static long zigzag(long l) {
+        return (l << 1) ^ (l >> 63);
+    }
+
+    private static long unzigzag(long l) {
+        return (l >>> 1) ^ -(l & 1);
+    }
+
+    static EException failure(String key, String message) {
+        return Decoder.decodingError.cause(E.fromName(key).message(message)).toStacklessException();
+    }
+
+    private static EException exceeded(String key, String limit, int max) {
+        return failure(key, "Exceeded: " + limit + " of " + max);
+    }
+}
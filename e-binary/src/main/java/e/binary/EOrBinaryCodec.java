@@ -0,0 +1,136 @@
+package e.binary;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import e.java.E;
+import e.java.EException;
+import e.java.EOr;
+import e.java.codec.Codec;
+import e.java.codec.Decoder;
+import e.java.codec.Encoder;
+
+/**
+ * A codec for EOr based on the binary format of {@link e.binary.EBinaryCodec}
+ *
+ * <p>An encoded EOr starts with a byte, 0 for a failure and 1 for a success. A failure is followed by its E, as encoded by {@link e.binary.EBinaryCodec}.
+ * A success is followed by the length of its encoded value as a varint and the value, as encoded by given value codec.</p>
+ *
+ * @param <A> Type of the value
+ */
+public class EOrBinaryCodec<A> implements Decoder<ByteBuffer, A>,
+                                          Encoder<EOr<A>, ByteBuffer> {
+    private static final byte failure = 0;
+    private static final byte success = 1;
+
+    private final Codec<A, ByteBuffer> valueCodec;
+    private final EBinaryCodec eCodec;
+
+    /**
+     * Creates a codec for EOr
+     *
+     * @param valueCodec A codec for the value, whose encoded buffers are ready to be read
+     */
+    public EOrBinaryCodec(Codec<A, ByteBuffer> valueCodec) {
+        this(valueCodec, EBinaryCodec.get());
+    }
+
+    /**
+     * Creates a codec for EOr
+     *
+     * @param valueCodec A codec for the value, whose encoded buffers are ready to be read
+     * @param eCodec     A codec for E of a failure, such as one with other limits
+     */
+    public EOrBinaryCodec(Codec<A, ByteBuffer> valueCodec, EBinaryCodec eCodec) {
+        this.valueCodec = valueCodec;
+        this.eCodec = eCodec;
+    }
+
+    /**
+     * Encodes given EOr into a new buffer
+     *
+     * @param eor An EOr
+     *
+     * @return A heap buffer, ready to be read, containing encoded EOr
+     */
+    @Override public ByteBuffer encode(EOr<A> eor) {
+        return EBinaryCodec.encodeGrowing(buffer -> encodeInto(eor, buffer));
+    }
+
+    /**
+     * Encodes given EOr into given buffer, starting from its position and advancing it
+     *
+     * @param eor    An EOr
+     * @param buffer A buffer
+     *
+     * @return Given buffer for chaining
+     *
+     * @throws java.nio.BufferOverflowException If given buffer doesn't have enough space, in which case it contains a partially encoded EOr
+     */
+    public ByteBuffer encodeInto(EOr<A> eor, ByteBuffer buffer) {
+        if (eor instanceof EOr.Failure<A> f) {
+            buffer.put(failure);
+            return eCodec.encodeInto(f.e(), buffer);
+        }
+
+        ByteBuffer value = valueCodec.encode(((EOr.Success<A>) eor).a());
+
+        buffer.put(success);
+        EBinaryCodec.writeVarInt(buffer, value.remaining());
+
+        return buffer.put(value);
+    }
+
+    /**
+     * Decodes an EOr from given buffer, starting from its position
+     *
+     * <p>Encoded value is given to the value codec as a view of given buffer, without copying it.
+     * If decoding succeeds, position of the buffer is advanced to the end of the decoded EOr. Otherwise, it is left as is.</p>
+     *
+     * @param buffer A buffer
+     *
+     * @return Decoded EOr, which is a failure for both an encoded failure and a decoding failure
+     */
+    @Override public EOr<A> decode(ByteBuffer buffer) {
+        int start = buffer.position();
+
+        try {
+            byte tag = buffer.get();
+
+            if (tag == failure) {
+                EOr<E> e = eCodec.decode(buffer);
+
+                if (e instanceof EOr.Failure<E> decodingFailure) {
+                    buffer.position(start);
+                    return decodingFailure.as();
+                }
+
+                return new EOr.Failure<>(((EOr.Success<E>) e).a());
+            }
+
+            if (tag != success) { throw EBinaryCodec.failure("tag", "Expected: " + failure + " or " + success); }
+
+            int length = EBinaryCodec.readVarInt(buffer);
+            if (length < 0 || length > buffer.remaining()) { throw new BufferUnderflowException(); }
+
+            ByteBuffer value = buffer.slice();
+            value.limit(length);
+
+            EOr<A> decoded = valueCodec.decode(value);
+
+            if (decoded.hasError()) {
+                buffer.position(start);
+            } else {
+                buffer.position(buffer.position() + length);
+            }
+
+            return decoded;
+        } catch (EException ee) {
+            buffer.position(start);
+            return new EOr.Failure<>(ee.e);
+        } catch (BufferUnderflowException bue) {
+            buffer.position(start);
+            return new EOr.Failure<>(Decoder.decodingError.cause(E.fromMessage("Unexpected end of input")));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package e.binary;
+
+import static e.java.test.Assertions.*;
+import static e.java.test.Helpers.*;
+
+import e.java.E;
+import e.java.ECatalog;
+import e.java.ELimits;
+import e.java.EOr;
+import e.java.codec.Codec;
+import e.java.codec.Decoder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryTest {
+    private final EBinaryCodec eCodec = EBinaryCodec.get();
+    private final E error = Decoder.decodingError;
+
+    private final Codec<String, ByteBuffer> stringCodec = Codec.from(
+        buffer -> EOr.from(StandardCharsets.UTF_8.decode(buffer).toString()),
+        s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8))
+    );
+
+    private final EOrBinaryCodec<String> eOrCodec = new EOrBinaryCodec<>(stringCodec);
+
+    private final E e = new E(
+        -1,
+        "test-name",
+        "Test Message \u00fc \u20ac \ud83d\ude00",
+        listOf(E.fromName("test-name").data("foo", "bar"), E.fromCode(Integer.MIN_VALUE).cause(E.fromName("foo").time(-1L))),
+        mapOf(mapEntry("foo", "bar")),
+        Long.MAX_VALUE
+    ).data(Collections.singletonMap("null", null));
+
+    @Test void encodingAndDecodingAnE() {
+        Stream.of(E.empty, E.fromCode(0), E.fromName(""), E.fromTime(0L), e).forEach(input -> {
+            ByteBuffer buffer = eCodec.encode(input);
+
+            assertValue(eCodec.decode(buffer), input);
+            assertEquals(0, buffer.remaining());
+        });
+
+        // Repeated strings are written once
+        E repeated = E.fromName("repeated-name").causes(E.fromName("repeated-name"), E.fromName("repeated-name"));
+        assertEquals(eCodec.encode(E.fromName("repeated-name")).remaining() + 2 * 2 + 1, eCodec.encode(repeated).remaining());
+    }
+
+    @Test void encodingAnEIntoAndDecodingAnEFromAGivenBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        buffer.put((byte) 42);
+
+        eCodec.encodeInto(e, buffer);
+        eCodec.encodeInto(E.fromName("second"), buffer);
+        buffer.flip();
+
+        assertEquals(42, buffer.get());
+        assertValue(eCodec.decode(buffer), e);
+        assertValue(eCodec.decode(buffer), E.fromName("second"));
+        assertEquals(0, buffer.remaining());
+
+        assertThrows(BufferOverflowException.class, () -> eCodec.encodeInto(e, ByteBuffer.allocate(8)));
+        assertThrows(IllegalArgumentException.class, () -> eCodec.encodeInto(null, ByteBuffer.allocate(8)));
+    }
+
+    @Test void decodingAnInvalidE() {
+        byte[] valid = bytes(eCodec.encode(e));
+        byte[] invalidReference = bytes(eCodec.encode(E.fromName("foo").message("foo")));
+        invalidReference[invalidReference.length - 1] = 3;
+
+        Stream.of(
+            mapEntry(new byte[0], error.cause(E.fromMessage("Unexpected end of input"))),
+            mapEntry(new byte[] { 2, 0 }, error.cause(E.fromName("version").message("Expected: 1"))),
+            mapEntry(new byte[] { 1, (byte) 0xFF }, error.cause(E.fromName("flags").message("Expected: At most 127"))),
+            mapEntry(new byte[] { 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF }, error.cause(E.fromName("varint").message("Expected: At most 5 bytes"))),
+            mapEntry(new byte[] { 1, 32, 0 }, error.cause(E.fromName("causes").message("Expected: At least 1"))),
+            mapEntry(new byte[] { 1, 32, 100 }, error.cause(E.fromName("causes").message("Expected: A size of at most 0"))),
+            mapEntry(invalidReference, error.cause(E.fromName("message").message("Expected: A reference to one of 1 strings"))),
+            mapEntry(Arrays.copyOf(valid, valid.length - 1), error.cause(E.fromMessage("Unexpected end of input")))
+        ).forEach(entry -> {
+            ByteBuffer buffer = ByteBuffer.wrap(entry.getKey());
+
+            assertError(eCodec.decode(buffer), entry.getValue());
+            assertEquals(0, buffer.position());
+        });
+    }
+
+    @Test void decodingAnEExceedingLimits() {
+        EBinaryCodec codec = eCodec.withLimits(new ELimits(1, 2, 1, 3));
+
+        assertValue(codec.decode(eCodec.encode(E.fromName("abc").causes(E.empty, E.empty).data("k", "v"))), E.fromName("abc").causes(E.empty, E.empty).data("k", "v"));
+
+        Stream.of(
+            mapEntry(E.fromName("abcd"), error.cause(E.fromName("name").message("Exceeded: maxStringLength of 3"))),
+            mapEntry(E.fromMessage("\u20ac\u20ac\u20ac\u20ac"), error.cause(E.fromName("message").message("Exceeded: maxStringLength of 3"))),
+            mapEntry(E.empty.cause(E.empty.cause(E.empty)), error.cause(E.fromName("causes").message("Exceeded: maxDepth of 1"))),
+            mapEntry(E.empty.causes(E.empty, E.empty, E.empty), error.cause(E.fromName("causes").message("Exceeded: maxCauses of 2"))),
+            mapEntry(E.fromData("k1", "v1").data("k2", "v2"), error.cause(E.fromName("data").message("Exceeded: maxDataEntries of 1"))),
+            mapEntry(E.fromData("key", "value"), error.cause(E.fromName("data").message("Exceeded: maxStringLength of 3")))
+        ).forEach(entry -> assertError(codec.decode(eCodec.encode(entry.getKey())), entry.getValue()));
+    }
+
+    @Test void encodingAndDecodingADeepChainOfCauses() {
+        E deep = E.fromCode(0);
+        for (int i = 1; i <= 100_000; i++) { deep = E.fromCode(i).cause(deep); }
+
+        ByteBuffer buffer = eCodec.encode(deep);
+
+        assertValue(eCodec.withLimits(ELimits.unlimited).decode(buffer.duplicate()), deep);
+        assertError(eCodec.decode(buffer), error.cause(E.fromName("causes").message("Exceeded: maxDepth of " + ELimits.defaults.maxDepth())));
+    }
+
+    @Test void encodingAndDecodingAnEDerivedFromATemplate() {
+        E template = ECatalog.get().register(2000, E.fromName("binary-catalog-test").message("Test Message").code(42));
+
+        Stream.of(
+            template,
+            template.data("foo", "bar").cause(template.now()),
+            template.message("Other Message"),
+            template.message(null)
+        ).forEach(input -> {
+            E decoded = eCodec.decode(eCodec.encode(input)).value().orElse(null);
+
+            assertEquals(input, decoded);
+            assertEquals(template.templateId(), decoded.templateId());
+        });
+
+        // Changing code or name makes it another error, decoded without the template
+        Stream.of(template.code(1), template.name(null).message(null)).forEach(input -> {
+            E decoded = eCodec.decode(eCodec.encode(input)).value().orElse(null);
+
+            assertEquals(input, decoded);
+            assertEquals(Optional.empty(), decoded.templateId());
+        });
+
+        // Code, name and message are not written when they are the same as those of the template
+        assertTrue(eCodec.encode(template).remaining() < eCodec.encode(E.fromName("binary-catalog-test").message("Test Message").code(42)).remaining());
+        assertSame(template, eCodec.decode(eCodec.encode(template)).value().orElse(null));
+
+        byte[] unknown = { 1, 64, (byte) 0xFF, (byte) 0xFF, 0x7F, 0, 0, 0, 0 };
+        assertError(eCodec.decode(ByteBuffer.wrap(unknown)), error.cause(E.fromName("template").message("Expected: A reference to a registered template")));
+
+        // A template registered with the same id but with another content is not decoded in place of the written one
+        byte[] other = bytes(eCodec.encode(template));
+        int fingerprint = ECatalog.fingerprint(template) + 1;
+        ByteBuffer.wrap(other).putInt(4, fingerprint);
+        assertError(eCodec.decode(ByteBuffer.wrap(other)), error.cause(E.fromName("template").message("Expected: Template 2000 with fingerprint " + fingerprint)));
+    }
+
+    @Test void encodingAndDecodingAnEOr() {
+        Stream.of(EOr.from("test"), EOr.from(""), e.<String>toEOr()).forEach(eor -> {
+            ByteBuffer buffer = eOrCodec.encode(eor);
+
+            assertEquals(eor, eOrCodec.decode(buffer));
+            assertEquals(0, buffer.remaining());
+        });
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        eOrCodec.encodeInto(EOr.from("first"), buffer);
+        eOrCodec.encodeInto(EOr.from("second"), buffer);
+        buffer.flip();
+
+        assertValue(eOrCodec.decode(buffer), "first");
+        assertValue(eOrCodec.decode(buffer), "second");
+
+        Stream.of(
+            mapEntry(new byte[] { 2 }, error.cause(E.fromName("tag").message("Expected: 0 or 1"))),
+            mapEntry(new byte[] { 1, 5, 1 }, error.cause(E.fromMessage("Unexpected end of input"))),
+            mapEntry(new byte[] { 0, 2 }, error.cause(E.fromName("version").message("Expected: 1")))
+        ).forEach(entry -> {
+            ByteBuffer invalid = ByteBuffer.wrap(entry.getKey());
+
+            assertError(eOrCodec.decode(invalid), entry.getValue());
+            assertEquals(0, invalid.position());
+        });
+
+        assertTrue(eOrCodec.decode(eOrCodec.encode(e.toEOr())).hasError());
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        return bytes;
+    }
+}
@@ -8,26 +8,144 @@ import java.util.function.Predicate;
 import com.google.gson.*;
 
 import e.java.E;
+import e.java.ELimits;
+import e.java.ENameRegistry;
 import e.java.EOr;
 import e.java.codec.Codec;
 import e.java.codec.Decoder;
 
+/**
+ * A codec for E based on gson's tree of JsonElements
+ *
+ * <p>By default, decoding reports all decoding failures of all fields, including the ones of causes, see {@link e.gson.EGsonCodec#get()}.
+ * For untrusted input, {@link e.gson.EGsonCodec#failFast()} stops at the first decoding failure instead.</p>
+ *
+ * <p>Decoding fails for an E exceeding {@link e.java.ELimits#defaults} without decoding the exceeding part, see {@link e.gson.EGsonCodec#withLimits}.</p>
+ *
+ * <p>It is stateless, so its instances are created eagerly and can be shared by any number of threads without locking.</p>
+ */
 public class EGsonCodec implements Codec<E, JsonElement>,
                                    JsonSerializer<E>,
                                    JsonDeserializer<E> {
-    private static EGsonCodec instance;
+    private static final EGsonCodec instance = new EGsonCodec(false, ELimits.defaults);
+    private static final EGsonCodec failFastInstance = new EGsonCodec(true, ELimits.defaults);
 
-    private EGsonCodec() {}
+    /** Result of a failed decoding in fail-fast mode, shared as it does not depend on the input */
+    private static final EOr<E> failFastFailure = new EOr.Failure<>(Decoder.decodingError);
 
-    public static EGsonCodec get() {
-        if (instance == null) {
-            instance = new EGsonCodec();
-        }
+    private final boolean failFast;
+    private final ELimits limits;
+
+    private EGsonCodec(boolean failFast, ELimits limits) {
+        this.failFast = failFast;
+        this.limits = limits;
+    }
 
+    /**
+     * @return Codec decoding all fields and reporting all decoding failures
+     */
+    public static EGsonCodec get() {
         return instance;
     }
 
+    /**
+     * Gets a codec that stops decoding at the first decoding failure, where the failure is always {@link e.java.codec.Decoder#decodingError}
+     *
+     * <p>It does no work for the rest of the input and allocates nothing for the failure, bounding the work a malformed input can cause.</p>
+     *
+     * @return Codec decoding in fail-fast mode
+     */
+    public static EGsonCodec failFast() {
+        return failFastInstance;
+    }
+
+    /**
+     * Creates a codec in the same mode as this one, failing to decode an E exceeding given limits
+     *
+     * @param limits Limits of a decoded E
+     *
+     * @return A new codec with given limits
+     *
+     * @throws IllegalArgumentException If limits are null
+     */
+    public EGsonCodec withLimits(ELimits limits) {
+        if (limits == null) { throw new IllegalArgumentException("Limits cannot be null!"); }
+
+        return new EGsonCodec(failFast, limits);
+    }
+
+    /**
+     * Registers {@link e.gson.EGsonTypeAdapter} and {@link e.gson.EOrGsonTypeAdapterFactory} to given builder
+     *
+     * <p>Gson built from it creates adapters for E and EOr once and caches them, so they can be obtained via {@link com.google.gson.Gson#getAdapter}
+     * and used concurrently as the adapters are stateless.</p>
+     *
+     * @param builder A GsonBuilder
+     *
+     * @return Given builder
+     */
+    public static GsonBuilder registerTo(GsonBuilder builder) {
+        return builder.registerTypeAdapterFactory(EGsonTypeAdapter.factory)
+                      .registerTypeAdapterFactory(EOrGsonTypeAdapterFactory.get());
+    }
+
     @Override public JsonElement encode(E e) {
+        JsonObject root = encodeHead(e);
+
+        // Unfinished E on the path to current E, each with its Json, its causes left to encode and the array they go into,
+        // so that a deep chain of causes doesn't overflow the stack
+        ArrayDeque<E> parents = new ArrayDeque<>();
+        ArrayDeque<JsonObject> parentObjects = new ArrayDeque<>();
+        ArrayDeque<Iterator<E>> causesLeft = new ArrayDeque<>();
+        ArrayDeque<JsonArray> causeArrays = new ArrayDeque<>();
+
+        E current = e;
+        JsonObject obj = root;
+
+        while (true) {
+            if (current.hasCause()) {
+                JsonArray causes = new JsonArray();
+                obj.add("causes", causes);
+
+                parents.push(current);
+                parentObjects.push(obj);
+                causesLeft.push(current.causes().iterator());
+                causeArrays.push(causes);
+            } else {
+                encodeTail(current, obj);
+            }
+
+            // Move on to next cause to encode, finishing each E whose causes are all encoded
+            current = null;
+
+            while (!parents.isEmpty()) {
+                Iterator<E> causes = causesLeft.peek();
+
+                if (causes.hasNext()) {
+                    E cause = causes.next();
+
+                    if (cause == null) {
+                        causeArrays.peek().add(JsonNull.INSTANCE);
+                        continue;
+                    }
+
+                    current = cause;
+                    obj = encodeHead(cause);
+                    causeArrays.peek().add(obj);
+                    break;
+                }
+
+                causesLeft.pop();
+                causeArrays.pop();
+                encodeTail(parents.pop(), parentObjects.pop());
+            }
+
+            if (current == null) { return root; }
+        }
+    }
+
+    /** Encodes fields of given E before its causes */
+    private static JsonObject encodeHead(E e) {
         JsonObject obj = new JsonObject();
 
         e.code().ifPresent(code -> obj.addProperty("code", code));
@@ -36,36 +154,32 @@ public class EGsonCodec implements Codec<E, JsonElement>,
 
         e.message().ifPresent(message -> obj.addProperty("message", message));
 
-        if (e.hasCause()) {
-            obj.add(
-                "causes",
-                e.causes()
-                 .stream()
-                 .map(cause -> { JsonArray cs = new JsonArray(); cs.add(encode(cause)); return cs; })
-                 .reduce(new JsonArray(), (a1, a2) -> { a1.addAll(a2); return a1; })
-            );
-        }
+        return obj;
+    }
 
+    /** Encodes fields of given E after its causes into given Json */
+    private static void encodeTail(E e, JsonObject obj) {
         if (e.hasData()) {
-            obj.add(
-                "data",
-                e.data()
-                 .entrySet()
-                 .stream()
-                 .map(entry -> { JsonObject m = new JsonObject(); m.addProperty(entry.getKey(), entry.getValue()); return m; })
-                 .reduce(new JsonObject(), (o1, o2) -> { o2.entrySet().forEach(entry -> o1.add(entry.getKey(), entry.getValue())); return o1; })
-            );
+            JsonObject data = new JsonObject();
+            e.data().forEach(data::addProperty);
+            obj.add("data", data);
         }
 
         e.time().ifPresent(time -> obj.addProperty("time", time));
-
-        return obj;
     }
 
     @Override public EOr<E> decode(JsonElement json) {
-        // Gets modified by lambdas below
-        // To make this reference effectively final, I made it an array of single item
-        final E[] decodedE = new E[] { E.empty };
+        // Valid input is decoded in a single pass that builds nothing but the E, failures are described in a second pass only when there are any
+        E e = decodeOrNull(json, 0);
+
+        if (e != null) { return new EOr.Success<>(e); }
+
+        return failFast ? failFastFailure : decode(json, 0);
+    }
+
+    /** Decodes given Json as an E at given depth of causes, describing all decoding failures */
+    private EOr<E> decode(JsonElement json, int depth) {
+        E.Builder builder = E.builder();
 
         List<E> decodingFailures = new LinkedList<>();
 
@@ -76,32 +190,32 @@ public class EGsonCodec implements Codec<E, JsonElement>,
 
             decodeCode(obj)
                 .onError(decodingFailures::add)
-                .onValue(maybeCode -> maybeCode.ifPresent(code -> decodedE[0] = decodedE[0].code(code)));
+                .onValue(maybeCode -> maybeCode.ifPresent(builder::code));
 
             decodeName(obj)
                 .onError(decodingFailures::add)
-                .onValue(maybeName -> maybeName.ifPresent(name -> decodedE[0] = decodedE[0].name(name)));
+                .onValue(maybeName -> maybeName.ifPresent(builder::name));
 
             decodeMessage(obj)
                 .onError(decodingFailures::add)
-                .onValue(maybeMessage -> maybeMessage.ifPresent(message -> decodedE[0] = decodedE[0].message(message)));
+                .onValue(maybeMessage -> maybeMessage.ifPresent(builder::message));
 
-            decodeCauses(obj)
+            decodeCauses(obj, depth)
                 .onError(decodingFailures::add)
-                .onValue(causes -> decodedE[0] = decodedE[0].causes(causes));
+                .onValue(builder::causes);
 
             decodeData(obj)
                 .onError(decodingFailures::add)
-                .onValue(data -> decodedE[0] = decodedE[0].data(data));
+                .onValue(builder::data);
 
             decodeTime(obj)
                 .onError(decodingFailures::add)
-                .onValue(maybeTime -> maybeTime.ifPresent(time -> decodedE[0] = decodedE[0].time(time)));
+                .onValue(maybeTime -> maybeTime.ifPresent(builder::time));
         }
 
         return !decodingFailures.isEmpty() ?
                new EOr.Failure<>(Decoder.decodingError.causes(decodingFailures)) :
-               new EOr.Success<>(decodedE[0]);
+               new EOr.Success<>(ENameRegistry.get().canonical(builder.build()));
     }
 
     @Override public JsonElement serialize(E e, Type typeOfSrc, JsonSerializationContext context) {
@@ -109,14 +223,95 @@ public class EGsonCodec implements Codec<E, JsonElement>,
     }
 
     @Override public E deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        EOr<E> result = decode(json);
+        E decoded = decodeOrNull(json, 0);
+
+        if (decoded != null) { return decoded; }
+
+        if (failFast) { throw new StacklessJsonParseException(Decoder.decodingException); }
+
+        EOr<E> result = decode(json, 0);
 
         return result.fold(
-            failure -> { throw new JsonParseException(failure.toException()); },
+            failure -> { throw new StacklessJsonParseException(failure.toStacklessException()); },
             e -> e
         );
     }
 
+    /**
+     * Decodes given Json as E at given depth of causes, returning null as soon as any field fails to decode or exceeds the limits
+     *
+     * <p>It accepts exactly what {@link e.gson.EGsonCodec#decode(JsonElement, int)} accepts and allocates nothing but the builders and the decoded E.</p>
+     */
+    private E decodeOrNull(JsonElement json, int depth) {
+        if (!json.isJsonObject()) { return null; }
+
+        E.Builder builder = E.builder();
+
+        for (Map.Entry<String, JsonElement> field : json.getAsJsonObject().entrySet()) {
+            JsonElement value = field.getValue();
+
+            if (value.isJsonNull()) { continue; }
+
+            switch (field.getKey()) {
+                case "code":
+                    if (!isNumber(value)) { return null; }
+                    builder.code(value.getAsInt());
+                    break;
+
+                case "name":
+                    if (!isString(value) || exceedsMaxStringLength(value.getAsString())) { return null; }
+                    builder.name(value.getAsString());
+                    break;
+
+                case "message":
+                    if (!isString(value) || exceedsMaxStringLength(value.getAsString())) { return null; }
+                    builder.message(value.getAsString());
+                    break;
+
+                case "causes":
+                    if (!value.isJsonArray()) { return null; }
+                    if (value.getAsJsonArray().size() > 0 && depth >= limits.maxDepth()) { return null; }
+                    if (value.getAsJsonArray().size() > limits.maxCauses()) { return null; }
+                    for (JsonElement causeJson : value.getAsJsonArray()) {
+                        E cause = decodeOrNull(causeJson, depth + 1);
+                        if (cause == null) { return null; }
+                        builder.cause(cause);
+                    }
+                    break;
+
+                case "data":
+                    if (!value.isJsonObject() || value.getAsJsonObject().size() > limits.maxDataEntries()) { return null; }
+                    for (Map.Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+                        if (!isString(entry.getValue()) || exceedsMaxStringLength(entry.getKey()) || exceedsMaxStringLength(entry.getValue().getAsString())) { return null; }
+                        builder.data(entry.getKey(), entry.getValue().getAsString());
+                    }
+                    break;
+
+                case "time":
+                    if (!isNumber(value)) { return null; }
+                    builder.time(value.getAsLong());
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        return ENameRegistry.get().canonical(builder.build());
+    }
+
+    private boolean exceedsMaxStringLength(String s) {
+        return s.length() > limits.maxStringLength();
+    }
+
+    private static boolean isNumber(JsonElement json) {
+        return json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber();
+    }
+
+    private static boolean isString(JsonElement json) {
+        return json.isJsonPrimitive() && json.getAsJsonPrimitive().isString();
+    }
+
     private EOr<Optional<Integer>> decodeCode(JsonObject obj) {
         return (!obj.has("code") || obj.get("code").isJsonNull()) ?
                EOr.from(Optional.empty()) :
@@ -126,16 +321,16 @@ public class EGsonCodec implements Codec<E, JsonElement>,
     private EOr<Optional<String>> decodeName(JsonObject obj) {
         return (!obj.has("name") || obj.get("name").isJsonNull()) ?
                EOr.from(Optional.empty()) :
-               primitive("name", "String", obj, JsonPrimitive::isString, JsonPrimitive::getAsString).map(Optional::of);
+               primitive("name", "String", obj, JsonPrimitive::isString, JsonPrimitive::getAsString).flatMap(name -> limitLength("name", name)).map(Optional::of);
     }
 
     private EOr<Optional<String>> decodeMessage(JsonObject obj) {
         return (!obj.has("message") || obj.get("message").isJsonNull()) ?
                EOr.from(Optional.empty()) :
-               primitive("message", "String", obj, JsonPrimitive::isString, JsonPrimitive::getAsString).map(Optional::of);
+               primitive("message", "String", obj, JsonPrimitive::isString, JsonPrimitive::getAsString).flatMap(message -> limitLength("message", message)).map(Optional::of);
     }
 
-    private EOr<List<E>> decodeCauses(JsonObject obj) {
+    private EOr<List<E>> decodeCauses(JsonObject obj, int depth) {
         if (!obj.has("causes") || obj.get("causes").isJsonNull()) {
             return EOr.from(new LinkedList<>());
         }
@@ -147,11 +342,22 @@ public class EGsonCodec implements Codec<E, JsonElement>,
             return expected.toEOr();
         }
 
+        // Causes beyond the limits are not decoded at all
+        int size = causesJson.getAsJsonArray().size();
+
+        if (size > 0 && depth >= limits.maxDepth()) {
+            return exceeded("causes", "maxDepth", limits.maxDepth()).toEOr();
+        }
+
+        if (size > limits.maxCauses()) {
+            return exceeded("causes", "maxCauses", limits.maxCauses()).toEOr();
+        }
+
         List<E> causeDecodingFailures = new LinkedList<>();
         List<E> decodedCauses = new LinkedList<>();
 
         causesJson.getAsJsonArray().iterator().forEachRemaining(j ->
-            decode(j)
+            decode(j, depth + 1)
                 .onError(causeDecodingFailures::add)
                 .onValue(decodedCauses::add)
         );
@@ -175,6 +381,10 @@ public class EGsonCodec implements Codec<E, JsonElement>,
             return expected.toEOr();
         }
 
+        if (dataJson.getAsJsonObject().size() > limits.maxDataEntries()) {
+            return exceeded("data", "maxDataEntries", limits.maxDataEntries()).toEOr();
+        }
+
         List<E> dataDecodingFailures = new LinkedList<>();
         Map<String, String> decodedData = new LinkedHashMap<>();
 
@@ -184,8 +394,13 @@ public class EGsonCodec implements Codec<E, JsonElement>,
 
             if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
                 dataDecodingFailures.add(expected("data." + key, "String"));
+            } else if (key.length() > limits.maxStringLength()) {
+                // Key itself is not used in the failure since it is too long
+                dataDecodingFailures.add(exceeded("data", "maxStringLength", limits.maxStringLength()));
+            } else if (value.getAsJsonPrimitive().getAsString().length() > limits.maxStringLength()) {
+                dataDecodingFailures.add(exceeded("data." + key, "maxStringLength", limits.maxStringLength()));
             } else {
-                decodedData.put(key, value.getAsJsonPrimitive().getAsString());
+                decodedData.put(ENameRegistry.get().canonical(key), value.getAsJsonPrimitive().getAsString());
             }
         });
 
@@ -202,10 +417,18 @@ public class EGsonCodec implements Codec<E, JsonElement>,
                primitive("time", "Long", obj, JsonPrimitive::isNumber, JsonPrimitive::getAsLong).map(Optional::of);
     }
 
-    private E expected(String key, String type) {
+    static E expected(String key, String type) {
         return E.fromName("obj." + key).message("Expected: " + type);
     }
 
+    static E exceeded(String key, String limit, int max) {
+        return E.fromName("obj." + key).message("Exceeded: " + limit + " of " + max);
+    }
+
+    private EOr<String> limitLength(String key, String s) {
+        return s.length() > limits.maxStringLength() ? exceeded(key, "maxStringLength", limits.maxStringLength()).toEOr() : EOr.from(s);
+    }
+
     private <A> EOr<A> primitive(String key,
                                  String type,
                                  JsonObject obj,
@@ -0,0 +1,372 @@
+package e.gson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import e.java.E;
+import e.java.ELimits;
+import e.java.ENameRegistry;
+import e.java.EOr;
+import e.java.codec.Decoder;
+
+/**
+ * A gson TypeAdapter for E, writing to and reading from gson's streams directly without building a tree of JsonElements
+ *
+ * <p>It produces the same Json as {@link e.gson.EGsonCodec} and reports the same decoding failures, including the ones for exceeding {@link e.java.ELimits}.</p>
+ *
+ * @see e.gson.EGsonCodec
+ */
+public final class EGsonTypeAdapter extends TypeAdapter<E> {
+    private static final EGsonTypeAdapter instance = new EGsonTypeAdapter(ELimits.defaults);
+
+    /** A TypeAdapterFactory providing {@link e.gson.EGsonTypeAdapter} for E */
+    public static final TypeAdapterFactory factory = instance.toFactory();
+
+    // Indices of fields in the order their decoding failures are reported
+    private static final int codeIndex = 0;
+    private static final int nameIndex = 1;
+    private static final int messageIndex = 2;
+    private static final int causesIndex = 3;
+    private static final int dataIndex = 4;
+    private static final int timeIndex = 5;
+
+    private final ELimits limits;
+
+    private EGsonTypeAdapter(ELimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * @return Adapter failing to read an E exceeding {@link e.java.ELimits#defaults}
+     */
+    public static EGsonTypeAdapter get() {
+        return instance;
+    }
+
+    /**
+     * Creates an adapter failing to read an E exceeding given limits
+     *
+     * @param limits Limits of a read E
+     *
+     * @return A new adapter with given limits
+     *
+     * @throws IllegalArgumentException If limits are null
+     */
+    public EGsonTypeAdapter withLimits(ELimits limits) {
+        if (limits == null) { throw new IllegalArgumentException("Limits cannot be null!"); }
+
+        return new EGsonTypeAdapter(limits);
+    }
+
+    /**
+     * @return A TypeAdapterFactory providing this adapter for E
+     */
+    public TypeAdapterFactory toFactory() {
+        EGsonTypeAdapter adapter = this;
+
+        return new TypeAdapterFactory() {
+            @SuppressWarnings("unchecked")
+            @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                return type.getRawType() == E.class ? (TypeAdapter<T>) adapter : null;
+            }
+        };
+    }
+
+    @Override public void write(JsonWriter out, E e) throws IOException {
+        // Unfinished E on the path to current E, each with its causes left to write, so that a deep chain of causes doesn't overflow the stack
+        ArrayDeque<E> parents = new ArrayDeque<>();
+        ArrayDeque<Iterator<E>> causesLeft = new ArrayDeque<>();
+        E current = e;
+
+        while (true) {
+            if (current == null) {
+                out.nullValue();
+            } else {
+                out.beginObject();
+
+                if (current.hasCode()) { out.name("code").value(current.code().get()); }
+
+                if (current.hasName()) { out.name("name").value(current.name().get()); }
+
+                if (current.hasMessage()) { out.name("message").value(current.message().get()); }
+
+                if (current.hasCause()) {
+                    out.name("causes").beginArray();
+                    parents.push(current);
+                    causesLeft.push(current.causes().iterator());
+                } else {
+                    writeTail(out, current);
+                }
+            }
+
+            // Move on to next cause to write, finishing each E whose causes are all written
+            current = null;
+            boolean hasNext = false;
+
+            while (!parents.isEmpty()) {
+                Iterator<E> causes = causesLeft.peek();
+
+                if (causes.hasNext()) {
+                    current = causes.next();
+                    hasNext = true;
+                    break;
+                }
+
+                out.endArray();
+                causesLeft.pop();
+                writeTail(out, parents.pop());
+            }
+
+            if (!hasNext) { return; }
+        }
+    }
+
+    /** Writes fields of given E after its causes and ends it */
+    private static void writeTail(JsonWriter out, E e) throws IOException {
+        if (e.hasData()) {
+            out.name("data").beginObject();
+            for (var entry : e.data().entrySet()) { out.name(entry.getKey()).value(entry.getValue()); }
+            out.endObject();
+        }
+
+        if (e.hasTime()) { out.name("time").value(e.time().get()); }
+
+        out.endObject();
+    }
+
+    @Override public E read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return decode(in).fold(
+            failure -> { throw new StacklessJsonParseException(failure.toStacklessException()); },
+            e -> e
+        );
+    }
+
+    /**
+     * Decodes next value in given reader as E, consuming the whole value even if decoding fails
+     *
+     * @param in A JsonReader
+     *
+     * @return Decoded E or decoding failure, same as {@link e.gson.EGsonCodec#decode}
+     *
+     * @throws IOException If reading fails or the input is not valid Json
+     */
+    public EOr<E> decode(JsonReader in) throws IOException {
+        return decode(in, 0);
+    }
+
+    /** Decodes next value in given reader as E at given depth of causes */
+    private EOr<E> decode(JsonReader in, int depth) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return new EOr.Failure<>(Decoder.decodingError.causes(E.fromMessage("Expected: JsonObject")));
+        }
+
+        E.Builder builder = E.builder();
+        E[] failures = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            String key = in.nextName();
+            JsonToken token = in.peek();
+
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+
+            E failure = null;
+            int index;
+
+            switch (key) {
+                case "code":
+                    index = codeIndex;
+                    if (token == JsonToken.NUMBER) { readCode(in, builder); } else { failure = skip(in, "code", "Int"); }
+                    break;
+
+                case "name":
+                    index = nameIndex;
+                    if (token == JsonToken.STRING) { failure = readName(in, builder); } else { failure = skip(in, "name", "String"); }
+                    break;
+
+                case "message":
+                    index = messageIndex;
+                    if (token == JsonToken.STRING) { failure = readMessage(in, builder); } else { failure = skip(in, "message", "String"); }
+                    break;
+
+                case "causes":
+                    index = causesIndex;
+                    failure = token == JsonToken.BEGIN_ARRAY ? readCauses(in, builder, depth) : skip(in, "causes", "List<E>");
+                    break;
+
+                case "data":
+                    index = dataIndex;
+                    failure = token == JsonToken.BEGIN_OBJECT ? readData(in, builder) : skip(in, "data", "Map<String, String>");
+                    break;
+
+                case "time":
+                    index = timeIndex;
+                    if (token == JsonToken.NUMBER) { readTime(in, builder); } else { failure = skip(in, "time", "Long"); }
+                    break;
+
+                default:
+                    index = -1;
+                    in.skipValue();
+            }
+
+            if (failure != null) {
+                if (failures == null) { failures = new E[timeIndex + 1]; }
+                failures[index] = failure;
+            }
+        }
+
+        in.endObject();
+
+        if (failures != null) {
+            return new EOr.Failure<>(Decoder.decodingError.causes(Arrays.stream(failures).filter(Objects::nonNull).toArray(E[]::new)));
+        }
+
+        return new EOr.Success<>(ENameRegistry.get().canonical(builder.build()));
+    }
+
+    // Non-integral numbers are truncated like JsonPrimitive.getAsInt and JsonPrimitive.getAsLong do
+    private void readCode(JsonReader in, E.Builder builder) throws IOException {
+        try {
+            builder.code(in.nextInt());
+        } catch (NumberFormatException nfe) {
+            builder.code(new BigDecimal(in.nextString()).intValue());
+        }
+    }
+
+    private void readTime(JsonReader in, E.Builder builder) throws IOException {
+        try {
+            builder.time(in.nextLong());
+        } catch (NumberFormatException nfe) {
+            builder.time(new BigDecimal(in.nextString()).longValue());
+        }
+    }
+
+    private E readName(JsonReader in, E.Builder builder) throws IOException {
+        String name = in.nextString();
+        if (name.length() > limits.maxStringLength()) { return EGsonCodec.exceeded("name", "maxStringLength", limits.maxStringLength()); }
+
+        builder.name(name);
+        return null;
+    }
+
+    private E readMessage(JsonReader in, E.Builder builder) throws IOException {
+        String message = in.nextString();
+        if (message.length() > limits.maxStringLength()) { return EGsonCodec.exceeded("message", "maxStringLength", limits.maxStringLength()); }
+
+        builder.message(message);
+        return null;
+    }
+
+    // Causes beyond the limits are skipped without being decoded
+    private E readCauses(JsonReader in, E.Builder builder, int depth) throws IOException {
+        List<E> causeDecodingFailures = null;
+
+        in.beginArray();
+
+        if (in.hasNext() && depth >= limits.maxDepth()) {
+            return skipRest(in, EGsonCodec.exceeded("causes", "maxDepth", limits.maxDepth()));
+        }
+
+        int count = 0;
+
+        while (in.hasNext()) {
+            if (count++ == limits.maxCauses()) {
+                return skipRest(in, EGsonCodec.exceeded("causes", "maxCauses", limits.maxCauses()));
+            }
+
+            EOr<E> cause = decode(in, depth + 1);
+
+            if (cause.hasError()) {
+                if (causeDecodingFailures == null) { causeDecodingFailures = new ArrayList<>(); }
+                causeDecodingFailures.add(cause.error().get());
+            } else if (causeDecodingFailures == null) {
+                builder.cause(cause.value().get());
+            }
+        }
+
+        in.endArray();
+
+        return causeDecodingFailures == null ? null : EGsonCodec.expected("causes", "List<E>").causes(causeDecodingFailures);
+    }
+
+    private E readData(JsonReader in, E.Builder builder) throws IOException {
+        List<E> dataDecodingFailures = null;
+        int count = 0;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            if (count++ == limits.maxDataEntries()) {
+                // Failures of entries before this one are not reported, same as EGsonCodec which checks the size first
+                while (in.hasNext()) { in.nextName(); in.skipValue(); }
+                in.endObject();
+                return EGsonCodec.exceeded("data", "maxDataEntries", limits.maxDataEntries());
+            }
+
+            String key = in.nextName();
+            E failure = null;
+
+            if (in.peek() != JsonToken.STRING) {
+                in.skipValue();
+                failure = EGsonCodec.expected("data." + key, "String");
+            } else if (key.length() > limits.maxStringLength()) {
+                in.skipValue();
+                failure = EGsonCodec.exceeded("data", "maxStringLength", limits.maxStringLength());
+            } else {
+                String value = in.nextString();
+
+                if (value.length() > limits.maxStringLength()) {
+                    failure = EGsonCodec.exceeded("data." + key, "maxStringLength", limits.maxStringLength());
+                } else {
+                    builder.data(key, value);
+                }
+            }
+
+            if (failure != null) {
+                if (dataDecodingFailures == null) { dataDecodingFailures = new ArrayList<>(); }
+                dataDecodingFailures.add(failure);
+            }
+        }
+
+        in.endObject();
+
+        return dataDecodingFailures == null ? null : EGsonCodec.expected("data", "Map<String, String>").causes(dataDecodingFailures);
+    }
+
+    /** Skips rest of the array being read, returning given failure */
+    private static E skipRest(JsonReader in, E failure) throws IOException {
+        while (in.hasNext()) { in.skipValue(); }
+        in.endArray();
+
+        return failure;
+    }
+
+    private static E skip(JsonReader in, String key, String type) throws IOException {
+        in.skipValue();
+        return EGsonCodec.expected(key, type);
+    }
+}
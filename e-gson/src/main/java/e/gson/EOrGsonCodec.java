@@ -7,20 +7,74 @@ import e.java.codec.Decoder;
 import e.java.codec.Encoder;
 
 import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 public class EOrGsonCodec<A> implements Decoder<JsonElement, A>,
                                         Encoder<EOr<A>, JsonElement>,
                                         JsonDeserializer<EOr<A>>,
                                         JsonSerializer<EOr<A>> {
+    /** Names of fields of E as encoded by {@link e.gson.EGsonCodec} */
+    private static final Set<String> eFieldNames = Set.of("code", "name", "message", "causes", "data", "time");
+
     private final Gson gson;
     private final Class<A> klass;
 
+    /** Extracts Json of an E from given Json if it is a serialized failure, returns null otherwise */
+    private final Function<JsonElement, JsonElement> failureExtractor;
+
+    /** Whether or not a Json that cannot be decoded as E after its extraction is decoded as a value instead */
+    private final boolean fallbackToValue;
+
     public EOrGsonCodec(Gson gson, Class<A> klass) {
+        this(gson, klass, json -> null, true);
+    }
+
+    private EOrGsonCodec(Gson gson, Class<A> klass, Function<JsonElement, JsonElement> failureExtractor, boolean fallbackToValue) {
         this.gson = gson;
         this.klass = klass;
+        this.failureExtractor = failureExtractor;
+        this.fallbackToValue = fallbackToValue;
+    }
+
+    /**
+     * Creates a codec that decodes a Json object as a failure when all its fields are fields of E and it can be decoded as an E
+     *
+     * <p>Only use it if Json of a value can never look like an E, for example a value with only a "name" field would be decoded as a failure.</p>
+     *
+     * @return A new codec detecting failures by their shape
+     */
+    public EOrGsonCodec<A> detectingFailuresByShape() {
+        return new EOrGsonCodec<>(gson, klass, EOrGsonCodec::failureByShape, true);
+    }
+
+    /**
+     * Creates a codec that decodes a Json object as a failure when its only field is given field, whose value is then decoded as an E
+     *
+     * @param field Name of the field containing E, such as "error"
+     *
+     * @return A new codec detecting failures in given envelope
+     */
+    public EOrGsonCodec<A> detectingFailuresInEnvelope(String field) {
+        return new EOrGsonCodec<>(gson, klass, json -> failureInEnvelope(json, field), false);
     }
 
     @Override public EOr<A> decode(JsonElement json) {
+        JsonElement failureJson = failureExtractor.apply(json);
+
+        if (failureJson != null) {
+            EOr<E> decodedE = EGsonCodec.get().decode(failureJson);
+
+            if (decodedE instanceof EOr.Success<E> success) {
+                return new EOr.Failure<>(success.a());
+            }
+
+            if (!fallbackToValue) {
+                return ((EOr.Failure<E>) decodedE).as();
+            }
+        }
+
         return EOr.catching(
             () -> gson.fromJson(json, klass),
             t -> Decoder.decodingError.cause(E.fromThrowable(t))
@@ -41,4 +95,22 @@ public class EOrGsonCodec<A> implements Decoder<JsonElement, A>,
     @Override public JsonElement serialize(EOr<A> eor, Type type, JsonSerializationContext ctx) {
         return encode(eor);
     }
+
+    private static JsonElement failureByShape(JsonElement json) {
+        if (!json.isJsonObject() || json.getAsJsonObject().size() == 0) { return null; }
+
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+            if (!eFieldNames.contains(entry.getKey())) { return null; }
+        }
+
+        return json;
+    }
+
+    private static JsonElement failureInEnvelope(JsonElement json, String field) {
+        if (!json.isJsonObject()) { return null; }
+
+        JsonObject obj = json.getAsJsonObject();
+
+        return obj.size() == 1 ? obj.get(field) : null;
+    }
 }
@@ -0,0 +1,201 @@
+package e.gson;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import e.java.E;
+import e.java.EOr;
+
+/**
+ * A gson TypeAdapterFactory for EOr of any type, writing to and reading from gson's streams directly
+ *
+ * <p>Value of an EOr&lt;A&gt; is handled by gson's own TypeAdapter for A, resolved from the full generic type such as EOr&lt;List&lt;A&gt;&gt;.
+ * E of an EOr is handled by gson's TypeAdapter for E, so {@link e.gson.EGsonTypeAdapter} or one with other limits must be registered too,
+ * see {@link e.gson.EGsonCodec#registerTo}. Gson creates an adapter once per type and caches it.</p>
+ *
+ * <p>By default, a failure is written as its E and a Json object is read as a failure when it has the shape of an E,
+ * meaning all its fields are fields of E with values of their types. Since a Json object cannot be told apart before it is read completely,
+ * it is read into a tree first. Values of other types are read directly. Use {@link #inEnvelope} when Json of a value can look like an E,
+ * which also reads every EOr directly.
+ * A Json object with the shape of an E that still cannot be read as one, such as one exceeding limits of the adapter for E, fails to be read.</p>
+ *
+ * <p>Failing to read a value throws, as gson's own adapters do, since the reader cannot continue after a partially consumed value.
+ * Use {@link e.gson.EOrGsonCodec#decode} to get such failures as failed EOrs instead.</p>
+ */
+public final class EOrGsonTypeAdapterFactory implements TypeAdapterFactory {
+    private static final EOrGsonTypeAdapterFactory instance = new EOrGsonTypeAdapterFactory(null, null);
+
+    /** Name of the field containing E of a failure, null when failures are detected by their shape */
+    private final String errorField;
+
+    /** Name of the field containing value of a success, null when failures are detected by their shape */
+    private final String valueField;
+
+    private EOrGsonTypeAdapterFactory(String errorField, String valueField) {
+        this.errorField = errorField;
+        this.valueField = valueField;
+    }
+
+    public static EOrGsonTypeAdapterFactory get() {
+        return instance;
+    }
+
+    /**
+     * Creates a factory that writes an EOr as a Json object whose only field is either given error field containing E of a failure
+     * or given value field containing value of a success, so that the name of the first field tells them apart while reading
+     *
+     * @param errorField Name of the field containing E, such as "error"
+     * @param valueField Name of the field containing value, such as "value"
+     *
+     * @return A new factory writing and reading EOrs in given envelope
+     *
+     * @throws IllegalArgumentException If any of given fields is null or they are the same
+     */
+    public EOrGsonTypeAdapterFactory inEnvelope(String errorField, String valueField) {
+        if (errorField == null) { throw new IllegalArgumentException("Error field cannot be null!"); }
+        if (valueField == null) { throw new IllegalArgumentException("Value field cannot be null!"); }
+        if (errorField.equals(valueField)) { throw new IllegalArgumentException("Error field and value field cannot be the same!"); }
+
+        return new EOrGsonTypeAdapterFactory(errorField, valueField);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!EOr.class.isAssignableFrom(type.getRawType())) { return null; }
+
+        Type valueType = type.getType() instanceof ParameterizedType ?
+                         ((ParameterizedType) type.getType()).getActualTypeArguments()[0] :
+                         Object.class;
+
+        TypeAdapter valueAdapter = gson.getAdapter(TypeToken.get(valueType));
+        TypeAdapter<E> eAdapter = gson.getAdapter(E.class);
+
+        return (TypeAdapter<T>) (errorField == null ?
+                                 new ShapeAdapter(valueAdapter, eAdapter, gson.getAdapter(JsonElement.class)) :
+                                 new EnvelopeAdapter(valueAdapter, eAdapter, errorField, valueField));
+    }
+
+    /** Returns whether given Json has the shape of an E, without decoding it */
+    private static boolean hasShapeOfE(JsonObject obj) {
+        if (obj.size() == 0) { return false; }
+
+        for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+            JsonElement value = entry.getValue();
+            if (value.isJsonNull()) { continue; }
+
+            boolean valid = switch (entry.getKey()) {
+                case "code", "time"    -> value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber();
+                case "name", "message" -> value.isJsonPrimitive() && value.getAsJsonPrimitive().isString();
+                case "causes"          -> value.isJsonArray();
+                case "data"            -> value.isJsonObject();
+                default                -> false;
+            };
+
+            if (!valid) { return false; }
+        }
+
+        return true;
+    }
+
+    private static final class ShapeAdapter<A> extends TypeAdapter<EOr<A>> {
+        private final TypeAdapter<A> valueAdapter;
+        private final TypeAdapter<E> eAdapter;
+        private final TypeAdapter<JsonElement> jsonAdapter;
+
+        private ShapeAdapter(TypeAdapter<A> valueAdapter, TypeAdapter<E> eAdapter, TypeAdapter<JsonElement> jsonAdapter) {
+            this.valueAdapter = valueAdapter;
+            this.eAdapter = eAdapter;
+            this.jsonAdapter = jsonAdapter;
+        }
+
+        @Override public void write(JsonWriter out, EOr<A> eor) throws IOException {
+            if (eor == null) {
+                out.nullValue();
+            } else if (eor instanceof EOr.Failure<A> failure) {
+                eAdapter.write(out, failure.e());
+            } else {
+                valueAdapter.write(out, ((EOr.Success<A>) eor).a());
+            }
+        }
+
+        // A Json null is a successful EOr of null as it is how a successful EOr of null, such as EOr.unit, is written
+        @Override public EOr<A> read(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) { return new EOr.Success<>(valueAdapter.read(in)); }
+
+            JsonObject json = jsonAdapter.read(in).getAsJsonObject();
+
+            return hasShapeOfE(json) ? new EOr.Failure<>(eAdapter.fromJsonTree(json)) : new EOr.Success<>(valueAdapter.fromJsonTree(json));
+        }
+    }
+
+    private static final class EnvelopeAdapter<A> extends TypeAdapter<EOr<A>> {
+        private final TypeAdapter<A> valueAdapter;
+        private final TypeAdapter<E> eAdapter;
+        private final String errorField;
+        private final String valueField;
+
+        private EnvelopeAdapter(TypeAdapter<A> valueAdapter, TypeAdapter<E> eAdapter, String errorField, String valueField) {
+            this.valueAdapter = valueAdapter;
+            this.eAdapter = eAdapter;
+            this.errorField = errorField;
+            this.valueField = valueField;
+        }
+
+        @Override public void write(JsonWriter out, EOr<A> eor) throws IOException {
+            if (eor == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+
+            if (eor instanceof EOr.Failure<A> failure) {
+                out.name(errorField);
+                eAdapter.write(out, failure.e());
+            } else {
+                out.name(valueField);
+                valueAdapter.write(out, ((EOr.Success<A>) eor).a());
+            }
+
+            out.endObject();
+        }
+
+        @Override public EOr<A> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            in.beginObject();
+
+            String field = in.hasNext() ? in.nextName() : null;
+            EOr<A> eor;
+
+            if (errorField.equals(field)) {
+                eor = new EOr.Failure<>(eAdapter.read(in));
+            } else if (valueField.equals(field)) {
+                eor = new EOr.Success<>(valueAdapter.read(in));
+            } else {
+                throw new StacklessJsonParseException("Expected: An object with only '" + errorField + "' or '" + valueField + "' field at " + in.getPath());
+            }
+
+            if (in.hasNext()) { throw new StacklessJsonParseException("Expected: An object with only '" + field + "' field at " + in.getPath()); }
+
+            in.endObject();
+
+            return eor;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package e.gson;
+
+import com.google.gson.JsonParseException;
+
+/**
+ * A JsonParseException capturing no stack trace, thrown by adapters for expected decoding failures
+ *
+ * <p>Its cause, usually a stackless {@link e.java.EException}, tells what failed, so walking the stack for every failure is not worth it.</p>
+ */
+final class StacklessJsonParseException extends JsonParseException {
+    private static final long serialVersionUID = 1L;
+
+    StacklessJsonParseException(String message) {
+        super(message);
+    }
+
+    StacklessJsonParseException(Throwable cause) {
+        super(cause);
+    }
+
+    @Override public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -4,20 +4,39 @@ import static e.java.test.Assertions.*;
 import static e.java.test.Helpers.*;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.sun.management.ThreadMXBean;
 import e.java.E;
+import e.java.ELimits;
+import e.java.ENameRegistry;
+import e.java.EException;
 import e.java.EOr;
 import e.java.codec.Decoder;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
 import java.util.AbstractMap.SimpleImmutableEntry;
-import java.util.Objects;
-import java.util.StringJoiner;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class GsonTest {
     private final EGsonCodec eCodec = EGsonCodec.get();
+    private final EGsonTypeAdapter eAdapter = EGsonTypeAdapter.get();
     private final EOrGsonCodec<TestData> eOrCodec = new EOrGsonCodec<>(new Gson(), TestData.class);
     private final E error = Decoder.decodingError;
 
@@ -142,6 +161,87 @@ public class GsonTest {
         assertEquals(expected, eCodec.encode(e));
     }
 
+    @Test void encodingADeepChainOfCauses() {
+        int depth = 10_000;
+
+        E e = E.fromCode(0);
+        for (int i = 1; i <= depth; i++) { e = E.fromCode(i).time(i).cause(e); }
+
+        JsonElement json = eCodec.encode(e);
+        for (int i = depth; i > 0; i--) {
+            JsonObject o = json.getAsJsonObject();
+            assertEquals(i, o.get("code").getAsInt());
+            assertEquals(i, o.get("time").getAsLong());
+            json = o.getAsJsonArray("causes").get(0);
+        }
+        assertEquals(obj(mapEntry("code", new JsonPrimitive(0))), json);
+
+        assertEquals(e.toString(ELimits.unlimited), new GsonBuilder().registerTypeAdapterFactory(EGsonTypeAdapter.factory).create().toJson(e));
+    }
+
+    @Test void decodingAnEWithTypeAdapterSameAsCodec() throws Exception {
+        List<JsonElement> inputs = listOf(
+            new JsonArray(),
+            new JsonPrimitive("foo"),
+            obj(),
+            obj(mapEntry("code", new JsonPrimitive("foo"))),
+            obj(mapEntry("code", new JsonPrimitive(1.5))),
+            obj(mapEntry("name", new JsonPrimitive(42))),
+            obj(mapEntry("message", new JsonPrimitive(123))),
+            obj(mapEntry("causes", new JsonPrimitive("foo"))),
+            obj(mapEntry("causes", arr(obj(), new JsonPrimitive(1), obj(mapEntry("name", new JsonPrimitive(2)))))),
+            obj(mapEntry("data", new JsonPrimitive("foo"))),
+            obj(mapEntry("data", obj(mapEntry("foo", new JsonPrimitive(1)), mapEntry("bar", new JsonPrimitive("baz"))))),
+            obj(mapEntry("time", new JsonPrimitive("foo"))),
+            obj(mapEntry("time", new JsonPrimitive("foo")), mapEntry("unknown", arr()), mapEntry("code", new JsonPrimitive("foo")), mapEntry("name", new JsonPrimitive(42))),
+            obj(
+                mapEntry("code",    JsonNull.INSTANCE),
+                mapEntry("name",    JsonNull.INSTANCE),
+                mapEntry("message", JsonNull.INSTANCE),
+                mapEntry("causes",  JsonNull.INSTANCE),
+                mapEntry("data",    JsonNull.INSTANCE),
+                mapEntry("time",    JsonNull.INSTANCE)
+            ),
+            obj(
+                mapEntry("code",    new JsonPrimitive(1)),
+                mapEntry("name",    new JsonPrimitive("test-name")),
+                mapEntry("message", new JsonPrimitive("Test Message")),
+                mapEntry("causes",  arr(obj(mapEntry("name", new JsonPrimitive("cause-1"))), obj(mapEntry("name", new JsonPrimitive("cause-2"))))),
+                mapEntry("data",    obj(mapEntry("foo", new JsonPrimitive("bar")))),
+                mapEntry("time",    new JsonPrimitive(123456789L))
+            )
+        );
+
+        for (JsonElement input : inputs) {
+            JsonReader reader = new JsonReader(new StringReader(input.toString()));
+
+            assertEquals(eCodec.decode(input), eAdapter.decode(reader), "Decoding " + input);
+            assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+        }
+    }
+
+    @Test void encodingAndDecodingAnEWithTypeAdapter() {
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(EGsonTypeAdapter.factory).create();
+
+        E e = new E(
+            1,
+            "test-name",
+            "Test \"Message\"",
+            listOf(E.fromName("cause-1"), E.fromName("cause-2").cause(E.fromCode(3))),
+            mapOf(mapEntry("foo", "bar")),
+            123456789L
+        );
+
+        assertEquals(eCodec.encode(e).toString(), gson.toJson(e));
+        assertEquals("{}", gson.toJson(E.empty));
+        assertEquals(e, gson.fromJson(gson.toJson(e), E.class));
+        assertNull(gson.fromJson("null", E.class));
+
+        JsonParseException exception = assertThrows(JsonParseException.class, () -> gson.fromJson("{\"code\":\"foo\"}", E.class));
+        assertEquals(new EException(error.cause(E.fromName("obj.code").message("Expected: Int"))), exception.getCause());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
     @Test void failingToDecodeTestDataOrE() {
         EOr<TestData> eor1 = eOrCodec.decode(arr());
         assertError(eor1, error.cause(E.fromMessage("java.lang.IllegalStateException: Expected BEGIN_OBJECT but was BEGIN_ARRAY at path $")));
@@ -155,6 +255,34 @@ public class GsonTest {
         assertValue(eor, new TestData("foo", 42));
     }
 
+    @Test void decodingAFailureOfTestDataOrEByShape() {
+        EOrGsonCodec<TestData> codec = eOrCodec.detectingFailuresByShape();
+        E e = E.fromName("test").code(1).cause(E.fromMessage("cause")).data("foo", "bar");
+
+        assertError(codec.decode(eCodec.encode(e)), e);
+        assertError(codec.decode(eCodec.encode(Decoder.decodingError)), Decoder.decodingError);
+
+        assertValue(codec.decode(obj(mapEntry("s", new JsonPrimitive("foo")), mapEntry("i", new JsonPrimitive(42)))), new TestData("foo", 42));
+        assertValue(codec.decode(obj()), new TestData(null, 0));
+
+        // Looks like an E but cannot be decoded as one, so it is decoded as a value
+        assertValue(codec.decode(obj(mapEntry("name", new JsonPrimitive(42)))), new TestData(null, 0));
+    }
+
+    @Test void decodingAFailureOfTestDataOrEInEnvelope() {
+        EOrGsonCodec<TestData> codec = eOrCodec.detectingFailuresInEnvelope("error");
+        E e = E.fromName("test").code(1);
+
+        assertError(codec.decode(obj(mapEntry("error", eCodec.encode(e)))), e);
+        assertError(
+            codec.decode(obj(mapEntry("error", new JsonPrimitive(42)))),
+            error.causes(E.fromMessage("Expected: JsonObject"))
+        );
+
+        assertValue(codec.decode(obj(mapEntry("s", new JsonPrimitive("foo")), mapEntry("i", new JsonPrimitive(42)))), new TestData("foo", 42));
+        assertValue(codec.decode(eCodec.encode(e)), new TestData(null, 0));
+    }
+
     @Test void encodingATestDataOrE() {
         JsonObject expected = obj(mapEntry("s", new JsonPrimitive("foo")), mapEntry("i", new JsonPrimitive(42)));
 
@@ -163,6 +291,224 @@ public class GsonTest {
         assertEquals(expected, actual);
     }
 
+    @Test void encodingAndDecodingEOrOfAnyTypeWithTypeAdapterFactory() {
+        Gson gson = EGsonCodec.registerTo(new GsonBuilder()).create();
+        Type listType = new TypeToken<EOr<List<TestData>>>() {}.getType();
+        Type singleType = new TypeToken<EOr<TestData>>() {}.getType();
+
+        EOr<List<TestData>> list = EOr.from(listOf(new TestData("foo", 42), new TestData("bar", 43)));
+        String listJson = "[{\"s\":\"foo\",\"i\":42},{\"s\":\"bar\",\"i\":43}]";
+        assertEquals(listJson, gson.toJson(list, listType));
+        assertEquals(list, gson.fromJson(listJson, listType));
+
+        E e = E.fromName("test").cause(E.fromCode(1));
+        assertEquals("{\"name\":\"test\",\"causes\":[{\"code\":1}]}", gson.toJson(e.toEOr(), listType));
+        assertError(gson.fromJson("{\"name\":\"test\",\"causes\":[{\"code\":1}]}", listType), e);
+        assertError(gson.fromJson(gson.toJson(e.toEOr(), singleType), singleType), e);
+
+        // Json with fields of E but not their types is a value
+        assertValue(gson.fromJson("{\"name\":42}", new TypeToken<EOr<Map<String, Integer>>>() {}.getType()), mapOf(mapEntry("name", 42)));
+        assertValue(gson.fromJson("{\"code\":\"foo\",\"data\":[]}", new TypeToken<EOr<Map<String, Object>>>() {}.getType()), mapOf(mapEntry("code", "foo"), mapEntry("data", listOf())));
+
+        // E is handled by registered adapter for E, Json with the shape of an E exceeding its limits is not read as a value
+        Gson limited = new GsonBuilder().registerTypeAdapterFactory(EGsonTypeAdapter.get().withLimits(new ELimits(1, 1, 1, 3)).toFactory())
+                                        .registerTypeAdapterFactory(EOrGsonTypeAdapterFactory.get())
+                                        .create();
+        assertThrows(JsonParseException.class, () -> limited.fromJson("{\"name\":\"test\"}", listType));
+
+        Gson enveloped = new GsonBuilder().registerTypeAdapterFactory(EGsonTypeAdapter.factory)
+                                          .registerTypeAdapterFactory(EOrGsonTypeAdapterFactory.get().inEnvelope("error", "value"))
+                                          .create();
+        assertEquals("{\"error\":{\"name\":\"test\",\"causes\":[{\"code\":1}]}}", enveloped.toJson(e.toEOr(), singleType));
+        assertEquals("{\"value\":{\"s\":\"test\",\"i\":0}}", enveloped.toJson(EOr.from(new TestData("test", 0)), singleType));
+        assertValue(enveloped.fromJson("{\"value\":{\"s\":\"test\",\"i\":0}}", singleType), new TestData("test", 0));
+        assertError(enveloped.fromJson("{\"error\":{\"name\":\"test\",\"causes\":[{\"code\":1}]}}", singleType), e);
+        assertValue(enveloped.fromJson("{\"value\":{\"name\":\"test\",\"i\":0}}", new TypeToken<EOr<Map<String, Object>>>() {}.getType()), mapOf(mapEntry("name", "test"), mapEntry("i", 0.0)));
+        assertValue(enveloped.fromJson("{\"value\":[1,2]}", new TypeToken<EOr<List<Integer>>>() {}.getType()), listOf(1, 2));
+        assertThrows(JsonParseException.class, () -> enveloped.fromJson("{\"error\":{\"code\":\"foo\"}}", singleType));
+        assertThrows(JsonParseException.class, () -> enveloped.fromJson("{\"s\":\"foo\",\"i\":42}", singleType));
+        assertThrows(JsonParseException.class, () -> enveloped.fromJson("{\"value\":{},\"error\":{}}", singleType));
+        assertThrows(IllegalArgumentException.class, () -> EOrGsonTypeAdapterFactory.get().inEnvelope(null, "value"));
+        assertThrows(IllegalArgumentException.class, () -> EOrGsonTypeAdapterFactory.get().inEnvelope("error", null));
+        assertThrows(IllegalArgumentException.class, () -> EOrGsonTypeAdapterFactory.get().inEnvelope("error", "error"));
+
+        EOr<TestData> single = gson.fromJson("{\"s\":\"foo\",\"i\":\"42\"}", singleType);
+        assertValue(single, new TestData("foo", 42));
+
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson("{\"s\":\"foo\",\"i\":\"bar\"}", singleType));
+
+        assertEquals("\"foo\"", gson.toJson(EOr.from("foo"), new TypeToken<EOr<String>>() {}.getType()));
+        assertValue(gson.fromJson("42", new TypeToken<EOr<Integer>>() {}.getType()), 42);
+        assertValue(gson.fromJson("null", singleType), null);
+        assertEquals("null", gson.toJson(EOr.unit, new TypeToken<EOr<Void>>() {}.getType()));
+    }
+
+    @Test void usingCodecsConcurrently() throws Exception {
+        int threads = 16;
+        int iterations = 1000;
+
+        Gson gson = EGsonCodec.registerTo(new GsonBuilder()).create();
+        E e = E.fromName("test").code(1).cause(E.fromMessage("cause")).data("foo", "bar").time(123L);
+        String json = "{\"code\":1,\"name\":\"test\",\"causes\":[{\"message\":\"cause\"}],\"data\":{\"foo\":\"bar\"},\"time\":123}";
+        Type eorType = new TypeToken<EOr<List<Integer>>>() {}.getType();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<Set<Object>>> results = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+
+                    Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+                    for (int i = 0; i < iterations; i++) {
+                        instances.add(EGsonCodec.get());
+                        instances.add(gson.getAdapter(E.class));
+
+                        assertValue(EGsonCodec.get().decode(EGsonCodec.get().encode(e)), e);
+                        assertEquals(json, gson.toJson(e));
+                        assertEquals(e, gson.fromJson(json, E.class));
+                        assertValue(gson.fromJson("[1,2]", eorType), listOf(1, 2));
+                    }
+
+                    return instances;
+                }));
+            }
+
+            start.countDown();
+
+            Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<Set<Object>> result : results) { instances.addAll(result.get(1, TimeUnit.MINUTES)); }
+
+            // Every thread sees the same codec and the same adapter, which gson caches
+            assertEquals(2, instances.size());
+            assertSame(EGsonTypeAdapter.get(), gson.getAdapter(E.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test void decodingAnEInFailFastMode() {
+        EGsonCodec failFast = EGsonCodec.failFast();
+
+        Stream.of(
+            obj(),
+            obj(mapEntry("code", new JsonPrimitive(1)), mapEntry("name", new JsonPrimitive("test")), mapEntry("message", new JsonPrimitive("Test"))),
+            obj(mapEntry("causes", arr(obj(mapEntry("code", new JsonPrimitive(2))), obj(mapEntry("causes", arr(obj())))))),
+            obj(mapEntry("data", obj(mapEntry("foo", new JsonPrimitive("bar")))), mapEntry("time", new JsonPrimitive(123L)), mapEntry("foo", new JsonPrimitive(true))),
+            obj(mapEntry("name", JsonNull.INSTANCE))
+        ).forEach(json -> assertEquals(eCodec.decode(json), failFast.decode(json)));
+
+        Stream.of(
+            arr(),
+            obj(mapEntry("code", new JsonPrimitive("foo")), mapEntry("name", new JsonPrimitive(1))),
+            obj(mapEntry("message", arr())),
+            obj(mapEntry("causes", arr(obj(), obj(mapEntry("causes", arr(obj(mapEntry("time", new JsonPrimitive("foo")))))), obj()))),
+            obj(mapEntry("data", obj(mapEntry("foo", new JsonPrimitive("bar")), mapEntry("baz", new JsonPrimitive(1))))),
+            obj(mapEntry("time", obj()))
+        ).forEach(json -> {
+            EOr<E> eor = failFast.decode(json);
+
+            assertError(eor, error);
+            assertSame(eor, failFast.decode(json));
+            JsonParseException exception = assertThrows(JsonParseException.class, () -> failFast.deserialize(json, E.class, null));
+            assertSame(Decoder.decodingException, exception.getCause());
+            assertEquals(0, exception.getStackTrace().length);
+        });
+    }
+
+    @Test void decodingAnEExceedingLimits() {
+        ELimits limits = new ELimits(1, 2, 2, 3);
+        EGsonCodec codec = eCodec.withLimits(limits);
+        EGsonTypeAdapter adapter = eAdapter.withLimits(limits);
+        EGsonCodec failFast = EGsonCodec.failFast().withLimits(limits);
+
+        JsonObject valid = obj(
+            mapEntry("name", new JsonPrimitive("abc")),
+            mapEntry("causes", arr(obj(), obj())),
+            mapEntry("data", obj(mapEntry("k1", new JsonPrimitive("v1")), mapEntry("k2", new JsonPrimitive("v2"))))
+        );
+
+        E expected = E.fromName("abc").causes(E.empty, E.empty).data("k1", "v1").data("k2", "v2");
+
+        assertValue(codec.decode(valid), expected);
+        assertValue(decodeWithAdapter(adapter, valid), expected);
+        assertValue(failFast.decode(valid), expected);
+
+        Stream.of(
+            mapEntry(
+                obj(mapEntry("name", new JsonPrimitive("abcd")), mapEntry("message", new JsonPrimitive("abcd"))),
+                error.causes(E.fromName("obj.name").message("Exceeded: maxStringLength of 3"), E.fromName("obj.message").message("Exceeded: maxStringLength of 3"))
+            ),
+            mapEntry(
+                obj(mapEntry("causes", arr(obj(mapEntry("causes", arr(obj(mapEntry("code", new JsonPrimitive("invalid"))))))))),
+                error.cause(E.fromName("obj.causes").message("Expected: List<E>").cause(error.cause(E.fromName("obj.causes").message("Exceeded: maxDepth of 1"))))
+            ),
+            mapEntry(
+                obj(mapEntry("causes", arr(obj(), obj(), obj(mapEntry("code", new JsonPrimitive("invalid")))))),
+                error.cause(E.fromName("obj.causes").message("Exceeded: maxCauses of 2"))
+            ),
+            mapEntry(
+                obj(mapEntry("data", obj(mapEntry("k1", new JsonPrimitive(1)), mapEntry("k2", new JsonPrimitive("v2")), mapEntry("k3", new JsonPrimitive("v3"))))),
+                error.cause(E.fromName("obj.data").message("Exceeded: maxDataEntries of 2"))
+            ),
+            mapEntry(
+                obj(mapEntry("data", obj(mapEntry("long", new JsonPrimitive("v")), mapEntry("k", new JsonPrimitive("long"))))),
+                error.cause(E.fromName("obj.data").message("Expected: Map<String, String>").causes(E.fromName("obj.data").message("Exceeded: maxStringLength of 3"), E.fromName("obj.data.k").message("Exceeded: maxStringLength of 3")))
+            )
+        ).forEach(entry -> {
+            assertError(codec.decode(entry.getKey()), entry.getValue());
+            assertError(decodeWithAdapter(adapter, entry.getKey()), entry.getValue());
+            assertError(failFast.decode(entry.getKey()), error);
+        });
+    }
+
+    @Test void decodingAnEWithCanonicalNamesAndDataKeys() {
+        E template = E.fromName("gson-registry-test").message("Test").data("gson-registry-test-key", "value");
+        ENameRegistry.get().register(template);
+
+        String json = "{\"name\":\"gson-registry-test\",\"message\":\"Test\",\"data\":{\"gson-registry-test-key\":\"value\"}}";
+        String other = "{\"name\":\"gson-registry-test\",\"data\":{\"gson-registry-test-key\":\"other\"}}";
+
+        Stream.of(
+            EGsonCodec.get().decode(JsonParser.parseString(json)).value().orElse(null),
+            EGsonCodec.failFast().decode(JsonParser.parseString(json)).value().orElse(null),
+            decodeWithAdapter(EGsonTypeAdapter.get(), JsonParser.parseString(json)).value().orElse(null)
+        ).forEach(decoded -> assertSame(template, decoded));
+
+        Stream.of(
+            EGsonCodec.get().decode(JsonParser.parseString(other)).value().orElse(E.empty),
+            EGsonCodec.failFast().decode(JsonParser.parseString(other)).value().orElse(E.empty),
+            decodeWithAdapter(EGsonTypeAdapter.get(), JsonParser.parseString(other)).value().orElse(E.empty)
+        ).forEach(decoded -> {
+            assertSame("gson-registry-test", decoded.name().orElse(null));
+            assertSame("gson-registry-test-key", decoded.data().keySet().iterator().next());
+        });
+    }
+
+    @Test void decodingAValidEWithoutDescribingFailures() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported());
+
+        JsonElement json = JsonParser.parseString("{\"code\":1,\"name\":\"test\",\"message\":\"Test\",\"causes\":[{\"name\":\"cause\"}],\"data\":{\"foo\":\"bar\"},\"time\":123}");
+        E e = E.fromName("test").code(1).message("Test").cause(E.fromName("cause")).data("foo", "bar").time(123L);
+
+        assertValue(EGsonCodec.get().decode(json), e);
+
+        long decoding = allocatedBytesPerCall(bean, () -> EGsonCodec.get().decode(json));
+        long building = allocatedBytesPerCall(bean, () ->
+            E.builder().code(1).name("test").message("Test").cause(E.builder().name("cause").build()).data("foo", "bar").time(123L).build()
+        );
+
+        // Besides the E, decoding only allocates iterators over Json, lookups of canonical instances and the result, a few hundred bytes,
+        // describing failures of every field would allocate a few kilobytes more
+        assertTrue(decoding - building < 512, "Decoding allocated " + decoding + " bytes where building allocated " + building + " bytes");
+    }
+
     @SafeVarargs
     private final JsonObject obj(SimpleImmutableEntry<String, JsonElement>... properties) {
         JsonObject o = new JsonObject();
@@ -175,4 +521,36 @@ public class GsonTest {
         Stream.of(elements).forEach(a::add);
         return a;
     }
+
+    /** Measures bytes allocated by the current thread per call of given function, ignoring the first rounds of calls */
+    private static long allocatedBytesPerCall(ThreadMXBean bean, Supplier<Object> f) {
+        int calls = 10_000;
+        Object[] results = new Object[calls];
+        long threadId = Thread.currentThread().threadId();
+        long min = Long.MAX_VALUE;
+
+        // Lowest of a few rounds, so that allocations of class loading and compilation in the first ones are not counted
+        for (int round = 0; round < 10; round++) {
+            long before = bean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < calls; i++) { results[i] = f.get(); }
+            long after = bean.getThreadAllocatedBytes(threadId);
+
+            min = Math.min(min, (after - before) / calls);
+        }
+
+        return min;
+    }
+
+    /** Decodes with given adapter, ensuring it consumes the whole input */
+    private static EOr<E> decodeWithAdapter(EGsonTypeAdapter adapter, JsonElement json) {
+        try {
+            JsonReader reader = new JsonReader(new StringReader(json.toString()));
+            EOr<E> eor = adapter.decode(reader);
+            assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+
+            return eor;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package e.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import e.java.E;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EBenchmark {
+    @Param({"0", "4", "8"})
+    public int dataSize;
+
+    @Param({"0", "2"})
+    public int depth;
+
+    private E e;
+    private E sameE;
+    private E differentE;
+
+    @Setup public void setup() {
+        e          = Fixtures.nested(depth, 2, dataSize);
+        sameE      = Fixtures.nested(depth, 2, dataSize);
+        differentE = Fixtures.nested(depth, 2, dataSize).message("Different");
+    }
+
+    @Benchmark public E build() {
+        E built = E.fromName("invalid-data").message("Provided data is invalid!").code(400);
+
+        for (int i = 0; i < dataSize; i++) {
+            built = built.data(Fixtures.keys[i], i);
+        }
+
+        return built;
+    }
+
+    @Benchmark public String renderToString() {
+        return e.toString(Fixtures.uncachedLimits);
+    }
+
+    @Benchmark public String renderToStringCached() {
+        return e.toString();
+    }
+
+    /** A fresh E for every invocation, since E caches its hash code after computing it once */
+    @State(Scope.Thread)
+    public static class FreshE {
+        private E e;
+
+        @Setup(Level.Invocation) public void setup(EBenchmark benchmark) {
+            e = Fixtures.nested(benchmark.depth, 2, benchmark.dataSize);
+        }
+    }
+
+    @Benchmark public int hash(FreshE fresh) {
+        return fresh.e.hashCode();
+    }
+
+    @Benchmark public int hashCached() {
+        return e.hashCode();
+    }
+
+    @Benchmark public boolean equalToSame() {
+        return e.equals(sameE);
+    }
+
+    @Benchmark public boolean equalToDifferent() {
+        return e.equals(differentE);
+    }
+}
@@ -0,0 +1,62 @@
+package e.bench;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import e.binary.EBinaryCodec;
+import e.gson.EGsonTypeAdapter;
+import e.java.E;
+import e.java.EOr;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EBinaryCodecBenchmark {
+    /** Depth of the cause tree, 0 meaning a flat E without any causes */
+    @Param({"0", "3", "6"})
+    public int depth;
+
+    private final EBinaryCodec codec = EBinaryCodec.get();
+    private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(EGsonTypeAdapter.factory).create();
+
+    private E e;
+    private ByteBuffer encoded;
+    private ByteBuffer buffer;
+    private String json;
+
+    @Setup public void setup() {
+        e       = Fixtures.nested(depth, 2, 4);
+        encoded = codec.encode(e);
+        buffer  = ByteBuffer.allocateDirect(encoded.remaining());
+        json    = gson.toJson(e);
+    }
+
+    @Benchmark public ByteBuffer encode() {
+        return codec.encode(e);
+    }
+
+    @Benchmark public ByteBuffer encodeIntoGivenBuffer() {
+        buffer.clear();
+        return codec.encodeInto(e, buffer);
+    }
+
+    @Benchmark public EOr<E> decode() {
+        return codec.decode(encoded.duplicate());
+    }
+
+    @Benchmark public String encodeToJson() {
+        return gson.toJson(e);
+    }
+
+    @Benchmark public E decodeFromJson() {
+        return gson.fromJson(json, E.class);
+    }
+}
@@ -0,0 +1,84 @@
+package e.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import e.gson.EGsonCodec;
+import e.gson.EGsonTypeAdapter;
+import e.java.E;
+import e.java.EOr;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EGsonCodecBenchmark {
+    /** Depth of the cause tree, 0 meaning a flat E without any causes */
+    @Param({"0", "3", "6"})
+    public int depth;
+
+    private final EGsonCodec codec = EGsonCodec.get();
+    private final EGsonCodec failFastCodec = EGsonCodec.failFast();
+    private final Gson treeGson = new GsonBuilder().registerTypeAdapter(E.class, codec).create();
+    private final Gson streamingGson = new GsonBuilder().registerTypeAdapterFactory(EGsonTypeAdapter.factory).create();
+
+    private E e;
+    private JsonElement json;
+    private JsonObject invalidJson;
+    private String jsonString;
+
+    @Setup public void setup() {
+        e          = Fixtures.nested(depth, 2, 4);
+        json       = codec.encode(e);
+        jsonString = json.toString();
+
+        // An invalid field first, followed by all fields of the valid Json
+        invalidJson = new JsonObject();
+        invalidJson.addProperty("code", "invalid");
+        json.getAsJsonObject().entrySet().forEach(entry -> invalidJson.add(entry.getKey(), entry.getValue()));
+    }
+
+    @Benchmark public JsonElement encode() {
+        return codec.encode(e);
+    }
+
+    @Benchmark public EOr<E> decode() {
+        return codec.decode(json);
+    }
+
+    @Benchmark public EOr<E> decodeFailFast() {
+        return failFastCodec.decode(json);
+    }
+
+    @Benchmark public EOr<E> decodeInvalid() {
+        return codec.decode(invalidJson);
+    }
+
+    @Benchmark public EOr<E> decodeInvalidFailFast() {
+        return failFastCodec.decode(invalidJson);
+    }
+
+    @Benchmark public String encodeToStringWithTree() {
+        return treeGson.toJson(e);
+    }
+
+    @Benchmark public String encodeToStringWithStreaming() {
+        return streamingGson.toJson(e);
+    }
+
+    @Benchmark public E decodeFromStringWithTree() {
+        return treeGson.fromJson(jsonString, E.class);
+    }
+
+    @Benchmark public E decodeFromStringWithStreaming() {
+        return streamingGson.fromJson(jsonString, E.class);
+    }
+}
@@ -0,0 +1,44 @@
+package e.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import e.java.E;
+import e.java.EOr;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EOrBenchmark {
+    private final E error = E.fromName("not-found").message("Requested resource does not exist!").code(404);
+
+    private EOr<String> success;
+    private EOr<String> failure;
+
+    @Setup public void setup() {
+        success = EOr.from("42");
+        failure = error.toEOr();
+    }
+
+    @Benchmark public String successPipeline() {
+        return pipeline(success);
+    }
+
+    @Benchmark public String failurePipeline() {
+        return pipeline(failure);
+    }
+
+    private String pipeline(EOr<String> eor) {
+        return eor.map(Integer::parseInt)
+                  .filter(i -> i > 0)
+                  .flatMap(i -> EOr.from(i * 2L))
+                  .map(l -> l + 1)
+                  .flatMap(l -> l % 2 == 1 ? EOr.from(String.valueOf(l)) : error.toEOr())
+                  .mapError(e -> e.data("step", "pipeline"))
+                  .fold(E::toString, s -> s);
+    }
+}
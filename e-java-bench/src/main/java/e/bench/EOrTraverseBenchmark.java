@@ -0,0 +1,51 @@
+package e.bench;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.*;
+
+import e.java.E;
+import e.java.EOr;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EOrTraverseBenchmark {
+    /** Number of threads of the pool parallel traversals run on */
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private final Function<Integer, EOr<String>> validate = i -> {
+        // Some CPU-bound work per value, like a validation
+        String s = Integer.toHexString(i * 31);
+        return s.hashCode() % 100 == 0 ? E.fromName("invalid").data("value", s).toEOr() : EOr.from(s);
+    };
+
+    private List<Integer> values;
+    private ForkJoinPool pool;
+
+    @Setup public void setup() {
+        values = IntStream.range(0, 1_000_000).boxed().collect(Collectors.toList());
+        pool   = new ForkJoinPool(threads);
+    }
+
+    @TearDown public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark public EOr<List<String>> traverseAccumulating() {
+        return EOr.traverseAccumulating(values, validate);
+    }
+
+    @Benchmark public EOr<List<String>> traverseAccumulatingParallel() {
+        return EOr.traverseAccumulatingParallel(values, validate, pool);
+    }
+}
@@ -0,0 +1,41 @@
+package e.bench;
+
+import e.java.E;
+import e.java.ELimits;
+
+final class Fixtures {
+    static final String[] keys = { "id", "name", "age", "rules", "requestId", "tenant", "path", "method" };
+
+    /**
+     * Same limits as {@link e.java.ELimits#defaults} in another instance, rendering the same Json as E's toString
+     * without reusing the string E caches after its first toString, so that rendering can be measured repeatedly
+     */
+    static final ELimits uncachedLimits = ELimits.defaults.maxDepth(ELimits.defaults.maxDepth());
+
+    private Fixtures() {}
+
+    /**
+     * Builds an E with a full cause tree
+     *
+     * @param depth    Depth of the cause tree, 0 meaning no causes
+     * @param width    Number of causes of each node
+     * @param dataSize Number of data entries of each node, up to the number of known keys
+     *
+     * @return Built E
+     */
+    static E nested(int depth, int width, int dataSize) {
+        E e = E.fromName("invalid-data").message("Provided data is invalid!").code(400).time(1595936239845L);
+
+        for (int i = 0; i < dataSize; i++) {
+            e = e.data(keys[i], "value-" + i);
+        }
+
+        if (depth > 0) {
+            for (int i = 0; i < width; i++) {
+                e = e.cause(nested(depth - 1, width, dataSize));
+            }
+        }
+
+        return e;
+    }
+}
@@ -0,0 +1,35 @@
+package e.bench;
+
+import java.util.StringJoiner;
+
+import e.java.E;
+
+/** Former implementation of {@link e.java.E#toString}, kept as a baseline for {@link e.bench.ToStringBenchmark} */
+final class LegacyToString {
+    private LegacyToString() {}
+
+    static String render(E e) {
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        StringJoiner causeJoiner = new StringJoiner(",", "[", "]");
+        StringJoiner dataJoiner = new StringJoiner(",", "{", "}");
+
+        e.code().ifPresent(code -> joiner.add(String.format("\"code\":%d", code)));
+        e.name().ifPresent(name -> joiner.add(String.format("\"name\":\"%s\"", quote(name))));
+        e.message().ifPresent(message -> joiner.add(String.format("\"message\":\"%s\"", quote(message))));
+        if (e.hasCause()) {
+            e.causes().forEach(cause -> causeJoiner.add(render(cause)));
+            joiner.add(String.format("\"causes\":%s", causeJoiner.toString()));
+        }
+        if (e.hasData()) {
+            e.data().forEach((k, v) -> dataJoiner.add(String.format("\"%s\":\"%s\"", quote(k), quote(v))));
+            joiner.add(String.format("\"data\":%s", dataJoiner.toString()));
+        }
+        e.time().ifPresent(time -> joiner.add(String.format("\"time\":%d", time)));
+
+        return joiner.toString();
+    }
+
+    private static String quote(String s) {
+        return s.replaceAll("\"", "\\\"");
+    }
+}
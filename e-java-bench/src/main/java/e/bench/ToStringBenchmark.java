@@ -0,0 +1,37 @@
+package e.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import e.java.E;
+
+/** Compares rendering E as a String to the implementation it replaced, see {@link e.bench.LegacyToString}, and to reusing the string E caches */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToStringBenchmark {
+    @Param({"0", "3"})
+    public int depth;
+
+    private E e;
+
+    @Setup public void setup() {
+        e = Fixtures.nested(depth, 2, 4);
+    }
+
+    @Benchmark public String current() {
+        return e.toString(Fixtures.uncachedLimits);
+    }
+
+    @Benchmark public String cached() {
+        return e.toString();
+    }
+
+    @Benchmark public String legacy() {
+        return LegacyToString.render(e);
+    }
+}
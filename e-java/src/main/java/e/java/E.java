@@ -1,5 +1,6 @@
 package e.java;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.function.Supplier;
 
@@ -15,14 +16,39 @@ public final class E {
     private final String message;
 
     /** Underlying cause(s) of this error, if any */
-    private final List<E> causes;
+    private final PersistentList<E> causes;
 
     /** Arbitrary data related to this error as a key-value map */
-    private final Map<String, String> data;
+    private final PersistentMap data;
 
     /** Time when this error occurred as milliseconds, see {@link System#currentTimeMillis} */
     private final Long time;
 
+    /**
+     * Id of the template in {@link e.java.ECatalog} this error is derived from, -1 if it is not derived from one
+     *
+     * <p>It is carried to every E derived from a catalogued template but it is not a part of the content, so it is ignored by equality.
+     * Changing code or name changes what the error is, so it is cleared then.</p>
+     */
+    private final int templateId;
+
+    /**
+     * Hash code of this error, computed once when it is first needed, 0 meaning it is not computed yet
+     *
+     * <p>It is not volatile on purpose. Since E is immutable, a thread that sees 0 only computes the same value again.</p>
+     */
+    private int hash;
+
+    /**
+     * String representation of this error, rendered once when it is first needed, if it is not longer than {@link e.java.E#maxCachedStringLength}
+     *
+     * <p>It is not volatile on purpose. Since E is immutable, a thread that sees null only renders the same value again.</p>
+     */
+    private String string;
+
+    /** Maximum length of string representation of an E to keep in that E, so that large errors don't keep large strings in memory */
+    public static final int maxCachedStringLength = 4096;
+
     /**
      * Creates an E with all its properties
      *
@@ -34,12 +60,18 @@ public final class E {
      * @param time    {@link e.java.E#time}
      */
     public E(Integer code, String name, String message, List<E> causes, Map<String, String> data, Long time) {
+        this(code, name, message, PersistentList.from(causes), PersistentMap.from(data), time, -1);
+    }
+
+    // Causes and data are persistent collections so adding to them shares the structure of existing ones instead of copying them
+    private E(Integer code, String name, String message, PersistentList<E> causes, PersistentMap data, Long time, int templateId) {
         this.code = code;
         this.name = name;
         this.message = message;
-        this.causes = causes == null ? new LinkedList<>() : causes;
-        this.data = data == null ? new LinkedHashMap<>() : data;
+        this.causes = causes;
+        this.data = data;
         this.time = time;
+        this.templateId = templateId;
     }
 
     /** @return {@link e.java.E#code} or empty {@link java.util.Optional} if code is not set */
@@ -59,7 +91,7 @@ public final class E {
 
     /** @return {@link e.java.E#causes} or empty {@link java.util.List} if causes are not set */
     public List<E> causes() {
-        return Collections.unmodifiableList(causes);
+        return causes;
     }
 
     /** @return {@link e.java.E#data} or empty {@link java.util.Map} if data are not set */
@@ -72,6 +104,16 @@ public final class E {
         return Optional.ofNullable(time);
     }
 
+    /** @return Id of the template in {@link e.java.ECatalog} this error is derived from or empty {@link java.util.Optional} if it is not derived from one */
+    public Optional<Integer> templateId() {
+        return templateId < 0 ? Optional.empty() : Optional.of(templateId);
+    }
+
+    /** @return Template in {@link e.java.ECatalog} this error is derived from or empty {@link java.util.Optional} if it is not derived from one */
+    public Optional<E> template() {
+        return templateId < 0 ? Optional.empty() : ECatalog.get().byId(templateId);
+    }
+
     /**
      * Constructs an E containing given code
      *
@@ -80,7 +122,7 @@ public final class E {
      * @return A new E containing given code
      */
     public E code(int c) {
-        return new E(c, name, message, causes, data, time);
+        return new E(c, name, message, causes, data, time, Objects.equals(code, c) ? templateId : -1);
     }
 
     /**
@@ -91,7 +133,7 @@ public final class E {
      * @return A new E containing given name
      */
     public E name(String n) {
-        return new E(code, n, message, causes, data, time);
+        return new E(code, ENameRegistry.get().canonical(n), message, causes, data, time, Objects.equals(name, n) ? templateId : -1);
     }
 
     /**
@@ -102,7 +144,7 @@ public final class E {
      * @return A new E containing given message
      */
     public E message(String m) {
-        return new E(code, name, m, causes, data, time);
+        return new E(code, name, m, causes, data, time, templateId);
     }
 
     /**
@@ -113,10 +155,7 @@ public final class E {
      * @return A new E containing causes of this E and given causes
      */
     public E causes(List<E> c) {
-        List<E> newCauses = new LinkedList<>(causes);
-        newCauses.addAll(c);
-
-        return new E(code, name, message, newCauses, data, time);
+        return new E(code, name, message, causes.appendAll(c), data, time, templateId);
     }
 
     /**
@@ -127,10 +166,7 @@ public final class E {
      * @return A new E containing causes of this E and given causes
      */
     public E causes(E... c) {
-        List<E> newCauses = new LinkedList<>(causes);
-        newCauses.addAll(Arrays.asList(c));
-
-        return new E(code, name, message, newCauses, data, time);
+        return new E(code, name, message, causes.appendAll(Arrays.asList(c)), data, time, templateId);
     }
 
     /**
@@ -141,10 +177,7 @@ public final class E {
      * @return A new E containing causes of this E and given causes
      */
     public E cause(E e) {
-        List<E> newCauses = new LinkedList<>(causes);
-        newCauses.add(e);
-
-        return new E(code, name, message, newCauses, data, time);
+        return new E(code, name, message, causes.append(e), data, time, templateId);
     }
 
     /**
@@ -155,10 +188,7 @@ public final class E {
      * @return A new E containing data of this E and given data
      */
     public E data(Map<String, String> d) {
-        Map<String, String> newData = new LinkedHashMap<>(data);
-        newData.putAll(d);
-
-        return new E(code, name, message, causes, newData, time);
+        return new E(code, name, message, causes, data.withAll(d), time, templateId);
     }
 
     /**
@@ -172,10 +202,24 @@ public final class E {
      * @return A new E containing data of this E and given data entry
      */
     public <V> E data(String k, V v) {
-        Map<String, String> newData = new LinkedHashMap<>(data);
-        newData.put(k, String.valueOf(v));
+        return new E(code, name, message, causes, data.with(ENameRegistry.get().canonical(k), String.valueOf(v)), time, templateId);
+    }
 
-        return new E(code, name, message, causes, newData, time);
+    /**
+     * Constructs an E adding given data entry whose value is converted to a String only when it is first read, rendered or encoded
+     *
+     * <p>Use it when converting the value is expensive and the error might never be read, for example when it is recovered from.
+     * The value is converted at most once and kept afterwards. Note that comparing or hashing an E reads its data.</p>
+     *
+     * @param k Key of data entry
+     * @param v Supplier of value of data entry
+     *
+     * @return A new E containing data of this E and given data entry
+     *
+     * @throws IllegalArgumentException If supplier is null
+     */
+    public E dataLazy(String k, Supplier<?> v) {
+        return new E(code, name, message, causes, data.with(ENameRegistry.get().canonical(k), lazy(v)), time, templateId);
     }
 
     /**
@@ -186,7 +230,7 @@ public final class E {
      * @return A new E containing given time
      */
     public E time(long t) {
-        return new E(code, name, message, causes, data, t);
+        return new E(code, name, message, causes, data, t, templateId);
     }
 
     /**
@@ -197,7 +241,7 @@ public final class E {
      * @see System#currentTimeMillis
      */
     public E now() {
-        return new E(code, name, message, causes, data, System.currentTimeMillis());
+        return new E(code, name, message, causes, data, System.currentTimeMillis(), templateId);
     }
 
     /**
@@ -210,10 +254,7 @@ public final class E {
      */
     public E causeIf(boolean condition, Supplier<E> e) {
         if (condition) {
-            List<E> newCauses = new LinkedList<>(causes);
-            newCauses.add(e.get());
-
-            return new E(code, name, message, newCauses, data, time);
+            return new E(code, name, message, causes.append(e.get()), data, time, templateId);
         }
 
         return this;
@@ -261,6 +302,36 @@ public final class E {
         return time != null;
     }
 
+    /**
+     * Creates a builder initialized with the content of this E, so that it can be modified without copying on every step
+     *
+     * @return A new {@link e.java.E.Builder} containing the content of this E
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+
+        builder.code = code;
+        builder.name = name;
+        builder.message = message;
+        builder.causes = causes;
+        builder.data = data;
+        builder.time = time;
+        builder.templateId = templateId;
+
+        return builder;
+    }
+
+    private static PersistentMap.Lazy lazy(Supplier<?> v) {
+        if (v == null) { throw new IllegalArgumentException("Supplier cannot be null!"); }
+
+        return new PersistentMap.Lazy(v);
+    }
+
+    // Used by ECatalog to create the catalogued instance of a template
+    E withTemplateId(int id) {
+        return new E(code, name, message, causes, data, time, id);
+    }
+
     /**
      * Converts this E to a failed EOr&lt;A&gt;
      *
@@ -283,53 +354,629 @@ public final class E {
         return new EException(this);
     }
 
+    /**
+     * Converts this E into an exception that captures no stack trace, to be used for control flow
+     *
+     * @return A stackless {@link e.java.EException} containing this E
+     *
+     * @see e.java.EException#stackless
+     */
+    public EException toStacklessException() {
+        return EException.stackless(this);
+    }
+
     @Override public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof E)) return false;
         E that = (E) o;
 
-        return Objects.equals(this.code, that.code) &&
-               Objects.equals(this.name, that.name) &&
-               Objects.equals(this.message, that.message) &&
-               this.causes.equals(that.causes) &&
-               this.data.equals(that.data) &&
-               Objects.equals(this.time, that.time);
+        if (!shallowEquals(this, that)) return false;
+        if (this.causes == that.causes || this.causes.isEmpty()) return true;
+
+        // Causes are compared with an explicit stack instead of recursion, so a deep chain of causes cannot overflow the call stack
+        Frames frames = new Frames();
+        pushCauses(frames, this, that);
+
+        while (!frames.isEmpty()) {
+            E b = frames.pop();
+            E a = frames.pop();
+
+            if (a == b) continue;
+            if (a == null || b == null || !shallowEquals(a, b)) return false;
+            if (a.causes != b.causes) pushCauses(frames, a, b);
+        }
+
+        return true;
+    }
+
+    /** Compares everything but causes, which are only compared by their number */
+    private static boolean shallowEquals(E a, E b) {
+        // Hash codes are compared only if both are already computed, computing them here would cost as much as comparing
+        if (a.hash != 0 && b.hash != 0 && a.hash != b.hash) return false;
+
+        return Objects.equals(a.code, b.code) &&
+               Objects.equals(a.time, b.time) &&
+               Objects.equals(a.name, b.name) &&
+               Objects.equals(a.message, b.message) &&
+               a.causes.size() == b.causes.size() &&
+               (a.data == b.data || a.data.equals(b.data));
+    }
+
+    private static void pushCauses(Frames frames, E a, E b) {
+        for (int i = 0; i < a.causes.size(); i++) {
+            frames.push(a.causes.get(i), 0);
+            frames.push(b.causes.get(i), 0);
+        }
     }
 
     @Override public int hashCode() {
-        return Objects.hash(code, name, message, causes, data, time);
+        int h = hash;
+
+        if (h == 0) {
+            int causesHash = causesHashIfComputed();
+
+            if (causesHash != 0) {
+                h = hash(this, causesHash);
+                hash = h;
+            } else {
+                h = hashWithCauses();
+            }
+        }
+
+        return h;
+    }
+
+    /**
+     * Hash code of causes, same as causes.hashCode(), if hash codes of all causes are computed already such as when there are none, 0 otherwise
+     *
+     * <p>Causes whose hash code happens to be 0 are hashed again by {@link e.java.E#hashWithCauses}, which gives the same result.</p>
+     */
+    private int causesHashIfComputed() {
+        int causesHash = 1;
+
+        for (int i = 0; i < causes.size(); i++) {
+            E cause = causes.get(i);
+            if (cause != null && cause.hash == 0) { return 0; }
+            causesHash = 31 * causesHash + (cause == null ? 0 : cause.hash);
+        }
+
+        return causesHash;
+    }
+
+    /**
+     * Computes hash codes of this E and of its causes whose hash codes are not computed yet, causes first
+     *
+     * <p>It uses an explicit stack instead of recursion, so a deep chain of causes cannot overflow the call stack.</p>
+     */
+    private int hashWithCauses() {
+        Frames frames = new Frames();
+        frames.push(this, 0);
+
+        while (!frames.isEmpty()) {
+            E e = frames.peek();
+            int next = frames.next();
+
+            if (next < e.causes.size()) {
+                frames.next(next + 1);
+                E cause = e.causes.get(next);
+                if (cause != null && cause.hash == 0) { frames.push(cause, 0); }
+            } else {
+                frames.pop();
+
+                // Same as e.causes.hashCode() as hash codes of all causes are computed by now
+                int causesHash = 1;
+                for (E cause : e.causes) { causesHash = 31 * causesHash + (cause == null ? 0 : cause.hash); }
+
+                e.hash = hash(e, causesHash);
+            }
+        }
+
+        return hash;
     }
 
+    // Same as Objects.hash(code, name, message, causes, data, time) without allocating an array for its arguments
+    private static int hash(E e, int causesHash) {
+        int h = 1;
+        h = 31 * h + Objects.hashCode(e.code);
+        h = 31 * h + Objects.hashCode(e.name);
+        h = 31 * h + Objects.hashCode(e.message);
+        h = 31 * h + causesHash;
+        h = 31 * h + e.data.hashCode();
+        h = 31 * h + Objects.hashCode(e.time);
+
+        return h;
+    }
+
+    /**
+     * Appends Json representation of this E to given StringBuilder, as returned by {@link e.java.E#toString}
+     *
+     * @param sb A StringBuilder
+     *
+     * @return Given StringBuilder for chaining
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return appendTo(sb, ELimits.defaults);
+    }
+
+    /**
+     * Appends Json representation of this E to given StringBuilder, truncating parts of it exceeding given limits
+     *
+     * <p>Truncated causes and data entries are replaced with a "...N more" marker and truncated strings end with one.</p>
+     *
+     * @param sb     A StringBuilder
+     * @param limits Limits of the rendered Json
+     *
+     * @return Given StringBuilder for chaining
+     */
+    public StringBuilder appendTo(StringBuilder sb, ELimits limits) {
+        // A cached string is rendered with its E as the root, so it is only reused for the root as depth of a cause changes how it is rendered
+        String cached = limits == ELimits.defaults ? string : null;
+        if (cached != null) { return sb.append(cached); }
+
+        // Unfinished E on the path to current E, each with the index of its next cause and where it starts in sb
+        Frames frames = null;
+        E current = this;
+
+        while (true) {
+            if (current == null) {
+                sb.append("null");
+            } else {
+                int start = sb.length();
+                appendHead(sb, current, limits);
+
+                if (!current.hasCause()) {
+                    appendTail(sb, current, start, limits);
+                } else if ((frames == null ? 0 : frames.size()) >= limits.maxDepth()) {
+                    appendSeparator(sb, start).append("\"causes\":[");
+                    appendMore(sb, current.causes.size()).append(']');
+                    appendTail(sb, current, start, limits);
+                } else {
+                    appendSeparator(sb, start).append("\"causes\":[");
+                    if (frames == null) { frames = new Frames(); }
+                    frames.push(current, 0, start);
+                }
+            }
+
+            // Move on to next cause to append, finishing each E whose causes are all appended
+            current = null;
+            boolean hasNext = false;
+
+            while (frames != null && !frames.isEmpty()) {
+                E e = frames.peek();
+                int next = frames.next();
+                int count = Math.min(e.causes.size(), limits.maxCauses());
+
+                if (next < count) {
+                    if (next > 0) { sb.append(','); }
+                    frames.next(next + 1);
+                    current = e.causes.get(next);
+                    hasNext = true;
+                    break;
+                }
+
+                if (count < e.causes.size()) {
+                    if (count > 0) { sb.append(','); }
+                    appendMore(sb, e.causes.size() - count);
+                }
+                sb.append(']');
+
+                int start = frames.start();
+                frames.pop();
+                appendTail(sb, e, start, limits);
+            }
+
+            if (!hasNext) { return sb; }
+        }
+    }
+
+    /**
+     * Appends Json representation of this E to given Appendable, as returned by {@link e.java.E#toString}
+     *
+     * @param appendable An Appendable, such as a Writer
+     *
+     * @throws IOException If appending to given Appendable fails
+     */
+    public void appendTo(Appendable appendable) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            appendTo((StringBuilder) appendable);
+        } else {
+            appendable.append(appendTo(new StringBuilder()));
+        }
+    }
+
+    /**
+     * String representation of this E as Json, truncating parts of it exceeding {@link e.java.ELimits#defaults}
+     *
+     * @return Json representation of this E
+     *
+     * @see e.java.E#appendTo(StringBuilder, ELimits)
+     */
     @Override public String toString() {
-        class Quoter {
-            public String quote(String s) {
-                return s.replaceAll("\"", "\\\"");
+        String s = string;
+
+        if (s == null) {
+            s = appendTo(new StringBuilder()).toString();
+            if (s.length() <= maxCachedStringLength) { string = s; }
+        }
+
+        return s;
+    }
+
+    /**
+     * String representation of this E as Json, truncating parts of it exceeding given limits
+     *
+     * @param limits Limits of the rendered Json
+     *
+     * @return Json representation of this E
+     *
+     * @see e.java.E#appendTo(StringBuilder, ELimits)
+     */
+    public String toString(ELimits limits) {
+        return limits == ELimits.defaults ? toString() : appendTo(new StringBuilder(), limits).toString();
+    }
+
+    /** Appends opening of given E and fields before its causes */
+    private static void appendHead(StringBuilder sb, E e, ELimits limits) {
+        int start = sb.length();
+        sb.append('{');
+
+        if (e.hasCode()) {
+            sb.append("\"code\":").append(e.code.intValue());
+        }
+        if (e.hasName()) {
+            appendSeparator(sb, start).append("\"name\":");
+            appendQuoted(sb, e.name, limits.maxStringLength());
+        }
+        if (e.hasMessage()) {
+            appendSeparator(sb, start).append("\"message\":");
+            appendQuoted(sb, e.message, limits.maxStringLength());
+        }
+    }
+
+    /** Appends fields of given E after its causes and its closing, given where it starts */
+    private static void appendTail(StringBuilder sb, E e, int start, ELimits limits) {
+        if (e.hasData()) {
+            appendSeparator(sb, start).append("\"data\":{");
+            int dataStart = sb.length() - 1;
+            int count = 0;
+            for (Map.Entry<String, String> entry : e.data.entrySet()) {
+                if (count++ == limits.maxDataEntries()) {
+                    appendSeparator(sb, dataStart).append("\"...\":");
+                    appendMore(sb, e.data.size() - limits.maxDataEntries());
+                    break;
+                }
+                appendSeparator(sb, dataStart);
+                appendQuoted(sb, entry.getKey(), limits.maxStringLength()).append(':');
+                appendQuoted(sb, entry.getValue(), limits.maxStringLength());
             }
+            sb.append('}');
+        }
+        if (e.hasTime()) {
+            appendSeparator(sb, start).append("\"time\":").append(e.time.longValue());
         }
 
-        Quoter quoter = new Quoter();
-        StringJoiner joiner = new StringJoiner(",", "{", "}");
-        StringJoiner causeJoiner = new StringJoiner(",", "[", "]");
-        StringJoiner dataJoiner = new StringJoiner(",", "{", "}");
+        sb.append('}');
+    }
+
+    /** Appends a separator unless nothing is appended after the opening character at given index */
+    private static StringBuilder appendSeparator(StringBuilder sb, int openingIndex) {
+        return sb.length() > openingIndex + 1 ? sb.append(',') : sb;
+    }
 
-        if (hasCode()) { joiner.add(String.format("\"code\":%d", code)); }
-        if (hasName()) { joiner.add(String.format("\"name\":\"%s\"", quoter.quote(name))); }
-        if (hasMessage()) { joiner.add(String.format("\"message\":\"%s\"", quoter.quote(message))); }
-        if (hasCause()) {
-            causes.forEach(cause -> causeJoiner.add(cause.toString()));
-            joiner.add(String.format("\"causes\":%s", causeJoiner.toString()));
+    /** Appends a marker for given number of truncated items */
+    private static StringBuilder appendMore(StringBuilder sb, int count) {
+        return sb.append("\"...").append(count).append(" more\"");
+    }
+
+    /** Appends given string as a Json string, in quotes and escaped, truncating it to given length */
+    private static StringBuilder appendQuoted(StringBuilder sb, String s, int maxLength) {
+        if (s == null) { return sb.append("null"); }
+
+        int end = s.length();
+        if (end > maxLength) {
+            end = maxLength;
+            // Don't split a surrogate pair
+            if (end > 0 && Character.isHighSurrogate(s.charAt(end - 1))) { end--; }
         }
-        if (hasData()) {
-            data.forEach((k, v) -> dataJoiner.add(String.format("\"%s\":\"%s\"", quoter.quote(k), quoter.quote(v))));
-            joiner.add(String.format("\"data\":%s", dataJoiner.toString()));
+
+        sb.append('"');
+
+        int unescaped = 0;
+        for (int i = 0; i < end; i++) {
+            char c = s.charAt(i);
+            String escaped;
+
+            switch (c) {
+                case '"':  escaped = "\\\""; break;
+                case '\\': escaped = "\\\\"; break;
+                case '\n': escaped = "\\n";  break;
+                case '\r': escaped = "\\r";  break;
+                case '\t': escaped = "\\t";  break;
+                case '\b': escaped = "\\b";  break;
+                case '\f': escaped = "\\f";  break;
+                default:
+                    // Other control characters, and line and paragraph separators that are not valid in JavaScript strings
+                    if (c >= ' ' && c != '\u2028' && c != '\u2029') { continue; }
+                    escaped = null;
+            }
+
+            sb.append(s, unescaped, i);
+            unescaped = i + 1;
+
+            if (escaped != null) {
+                sb.append(escaped);
+            } else {
+                sb.append("\\u").append(hexDigits[(c >> 12) & 0xF]).append(hexDigits[(c >> 8) & 0xF]).append(hexDigits[(c >> 4) & 0xF]).append(hexDigits[c & 0xF]);
+            }
         }
-        if (hasTime()) { joiner.add(String.format("\"time\":%d", time)); }
 
-        return joiner.toString();
+        sb.append(s, unescaped, end);
+
+        if (end < s.length()) { sb.append("...").append(s.length() - end).append(" more"); }
+
+        return sb.append('"');
+    }
+
+    private static final char[] hexDigits = "0123456789abcdef".toCharArray();
+
+    /** A growable stack of E, each with an index of its next cause and a position, used instead of recursion over causes */
+    private static final class Frames {
+        private E[] es = new E[16];
+        private int[] nexts = new int[16];
+        private int[] starts = new int[16];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void push(E e, int next) {
+            push(e, next, 0);
+        }
+
+        void push(E e, int next, int start) {
+            if (size == es.length) {
+                es = Arrays.copyOf(es, size * 2);
+                nexts = Arrays.copyOf(nexts, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+            }
+
+            es[size] = e;
+            nexts[size] = next;
+            starts[size] = start;
+            size++;
+        }
+
+        E peek() {
+            return es[size - 1];
+        }
+
+        E pop() {
+            E e = es[--size];
+            es[size] = null;
+            return e;
+        }
+
+        int next() {
+            return nexts[size - 1];
+        }
+
+        void next(int next) {
+            nexts[size - 1] = next;
+        }
+
+        int start() {
+            return starts[size - 1];
+        }
+    }
+
+    /**
+     * A mutable and single-use builder of E
+     *
+     * <p>Unlike the fluent methods of E, which create a new E on every call,
+     * a builder accumulates everything and creates a single E in the end.
+     * A builder cannot be used anymore once {@link e.java.E.Builder#build} is called.</p>
+     *
+     * @see e.java.E#builder
+     * @see e.java.E#toBuilder
+     */
+    public static final class Builder {
+        private Integer code;
+        private String name;
+        private String message;
+        private PersistentList<E> causes = PersistentList.empty();
+        private PersistentMap data = PersistentMap.empty;
+        private Long time;
+        private int templateId = -1;
+        private boolean built;
+
+        private Builder() {}
+
+        /**
+         * Sets code of the E being built
+         *
+         * @param c A code
+         *
+         * @return This builder for chaining
+         */
+        public Builder code(int c) {
+            ensureNotBuilt();
+            if (!Objects.equals(code, c)) { templateId = -1; }
+            code = c;
+            return this;
+        }
+
+        /**
+         * Sets name of the E being built
+         *
+         * @param n A name
+         *
+         * @return This builder for chaining
+         */
+        public Builder name(String n) {
+            ensureNotBuilt();
+            if (!Objects.equals(name, n)) { templateId = -1; }
+            name = ENameRegistry.get().canonical(n);
+            return this;
+        }
+
+        /**
+         * Sets message of the E being built
+         *
+         * @param m A message
+         *
+         * @return This builder for chaining
+         */
+        public Builder message(String m) {
+            ensureNotBuilt();
+            message = m;
+            return this;
+        }
+
+        /**
+         * Adds given causes to the E being built
+         *
+         * @param c Causes as a List
+         *
+         * @return This builder for chaining
+         */
+        public Builder causes(List<E> c) {
+            ensureNotBuilt();
+            causes = causes.appendAll(c);
+            return this;
+        }
+
+        /**
+         * Adds given causes to the E being built
+         *
+         * @param c Causes as variable arguments
+         *
+         * @return This builder for chaining
+         */
+        public Builder causes(E... c) {
+            ensureNotBuilt();
+            causes = causes.appendAll(Arrays.asList(c));
+            return this;
+        }
+
+        /**
+         * Adds given cause to the E being built
+         *
+         * @param e A cause
+         *
+         * @return This builder for chaining
+         */
+        public Builder cause(E e) {
+            ensureNotBuilt();
+            causes = causes.append(e);
+            return this;
+        }
+
+        /**
+         * Adds given data to the E being built
+         *
+         * @param d Data as a key-value map
+         *
+         * @return This builder for chaining
+         */
+        public Builder data(Map<String, String> d) {
+            ensureNotBuilt();
+            data = data.withAll(d);
+            return this;
+        }
+
+        /**
+         * Adds given data entry to the E being built
+         *
+         * @param <V> Type of value of data entry
+         *
+         * @param k Key of data entry
+         * @param v Value of data entry
+         *
+         * @return This builder for chaining
+         */
+        public <V> Builder data(String k, V v) {
+            ensureNotBuilt();
+            data = data.with(ENameRegistry.get().canonical(k), String.valueOf(v));
+            return this;
+        }
+
+        /**
+         * Adds given data entry to the E being built, whose value is converted to a String only when it is first read
+         *
+         * @param k Key of data entry
+         * @param v Supplier of value of data entry
+         *
+         * @return This builder for chaining
+         *
+         * @throws IllegalArgumentException If supplier is null
+         *
+         * @see e.java.E#dataLazy
+         */
+        public Builder dataLazy(String k, Supplier<?> v) {
+            ensureNotBuilt();
+            data = data.with(ENameRegistry.get().canonical(k), lazy(v));
+            return this;
+        }
+
+        /**
+         * Sets time of the E being built
+         *
+         * @param t A time
+         *
+         * @return This builder for chaining
+         */
+        public Builder time(long t) {
+            ensureNotBuilt();
+            time = t;
+            return this;
+        }
+
+        /**
+         * Sets time of the E being built to now
+         *
+         * @return This builder for chaining
+         *
+         * @see System#currentTimeMillis
+         */
+        public Builder now() {
+            return time(System.currentTimeMillis());
+        }
+
+        /**
+         * Builds an E, after which this builder cannot be used anymore
+         *
+         * @return A new E containing everything set so far
+         *
+         * @throws IllegalStateException If this builder is already used to build an E
+         */
+        public E build() {
+            ensureNotBuilt();
+            built = true;
+
+            return new E(code, name, message, causes, data, time, templateId);
+        }
+
+        private void ensureNotBuilt() {
+            if (built) { throw new IllegalStateException("Builder is already used to build an E!"); }
+        }
+    }
+
+    /**
+     * Creates a new and empty builder of E
+     *
+     * @return A new {@link e.java.E.Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /** An empty E */
-    public static final E empty = new E(null, null, null, null, null, null);
+    public static final E empty = new E(null, null, null, PersistentList.empty(), PersistentMap.empty, null, -1);
 
     /**
      * Constructs an E containing given code
@@ -339,7 +986,7 @@ public final class E {
      * @return A new E containing given code
      */
     public static E fromCode(int c) {
-        return new E(c, null, null, null, null, null);
+        return empty.code(c);
     }
 
     /**
@@ -350,7 +997,7 @@ public final class E {
      * @return A new E containing given name
      */
     public static E fromName(String n) {
-        return new E(null, n, null, null, null, null);
+        return empty.name(n);
     }
 
     /**
@@ -361,7 +1008,7 @@ public final class E {
      * @return A new E containing given message
      */
     public static E fromMessage(String m) {
-        return new E(null, null, m, null, null, null);
+        return empty.message(m);
     }
 
     /**
@@ -372,7 +1019,7 @@ public final class E {
      * @return A new E containing causes of this E and given causes
      */
     public static E fromCauses(List<E> c) {
-        return new E(null, null, null, c, null, null);
+        return empty.causes(c);
     }
 
     /**
@@ -383,7 +1030,7 @@ public final class E {
      * @return A new E containing causes of this E and given causes
      */
     public static E fromCauses(E... c) {
-        return new E(null, null, null, Arrays.asList(c), null, null);
+        return empty.causes(c);
     }
 
     /**
@@ -394,7 +1041,7 @@ public final class E {
      * @return A new E containing causes of this E and given causes
      */
     public static E fromCause(E e) {
-        return new E(null, null, null, Collections.singletonList(e), null, null);
+        return empty.cause(e);
     }
 
     /**
@@ -405,7 +1052,7 @@ public final class E {
      * @return A new E containing data of this E and given data
      */
     public static E fromData(Map<String, String> d) {
-        return new E(null, null, null, null, d, null);
+        return empty.data(d);
     }
 
     /**
@@ -419,10 +1066,23 @@ public final class E {
      * @return A new E containing data of this E and given data entry
      */
     public static <V> E fromData(String k, V v) {
-        Map<String, String> data = new LinkedHashMap<>();
-        data.put(k, String.valueOf(v));
+        return empty.data(k, v);
+    }
 
-        return new E(null, null, null, null, data, null);
+    /**
+     * Constructs an E containing given data entry whose value is converted to a String only when it is first read
+     *
+     * @param k Key of data entry
+     * @param v Supplier of value of data entry
+     *
+     * @return A new E containing given data entry
+     *
+     * @throws IllegalArgumentException If supplier is null
+     *
+     * @see e.java.E#dataLazy
+     */
+    public static E fromDataLazy(String k, Supplier<?> v) {
+        return empty.dataLazy(k, v);
     }
 
     /**
@@ -433,7 +1093,7 @@ public final class E {
      * @return A new E containing given time
      */
     public static E fromTime(Long t) {
-        return new E(null, null, null, null, null, t);
+        return t == null ? empty : empty.time(t);
     }
 
     /**
@@ -444,7 +1104,7 @@ public final class E {
      * @see System#currentTimeMillis
      */
     public static E fromNow() {
-        return new E(null, null, null, null, null, System.currentTimeMillis());
+        return empty.now();
     }
 
     /**
@@ -457,10 +1117,7 @@ public final class E {
      */
     public static E fromCauseIf(boolean condition, Supplier<E> e) {
         if (condition) {
-            List<E> causes = new LinkedList<>();
-            causes.add(e.get());
-
-            return new E(null, null, null, causes, null, null);
+            return empty.cause(e.get());
         }
 
         return empty;
@@ -0,0 +1,126 @@
+package e.java;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A catalog of error templates, each identified by a stable and small integer id as well as its name
+ *
+ * <p>A template is an E with a name and optionally a code and a message. It is registered with an explicit id, which must never be reused
+ * for another template since encoders such as e-binary's persist it. Registering returns its catalogued instance, which is meant to be kept as a constant.
+ * Every E derived from a catalogued instance, such as one with a different message or more data, references the template with its id,
+ * see {@link e.java.E#templateId}. Catalogued instances are also registered to {@link e.java.ENameRegistry}.</p>
+ *
+ * <p>Registering is meant to be done once at startup and it copies the catalog. Looking templates up does not lock.
+ * Templates are kept in an array indexed by their ids, so ids are meant to be small.</p>
+ */
+public final class ECatalog {
+    private static final ECatalog instance = new ECatalog();
+
+    private volatile E[] templates = new E[0];
+    private volatile Map<String, E> templatesByName = new HashMap<>();
+
+    private ECatalog() {}
+
+    /**
+     * @return The catalog used by E and the codecs
+     */
+    public static ECatalog get() {
+        return instance;
+    }
+
+    /**
+     * Registers given template with given id
+     *
+     * @param id       A stable id for given template, never reused for another template
+     * @param template An E with a name and optionally a code and a message
+     *
+     * @return Catalogued instance of given template, which is the one registered before if an equal template is already registered with given id
+     *
+     * @throws IllegalArgumentException If given id is negative, given template is null, doesn't have a name,
+     *                                  has anything other than a code, a name and a message,
+     *                                  or given id or name is already registered for another template
+     */
+    public synchronized E register(int id, E template) {
+        if (id < 0) { throw new IllegalArgumentException("Id cannot be negative!"); }
+        if (template == null) { throw new IllegalArgumentException("Template cannot be null!"); }
+        if (!template.hasName()) { throw new IllegalArgumentException("Template must have a name!"); }
+        if (template.hasCause() || template.hasData() || template.hasTime()) {
+            throw new IllegalArgumentException("Template can only have a code, a name and a message!");
+        }
+
+        String name = template.name().get();
+        E registeredWithId = id < templates.length ? templates[id] : null;
+        E registeredWithName = templatesByName.get(name);
+
+        if (registeredWithId != null) {
+            if (registeredWithId.equals(template)) { return registeredWithId; }
+
+            throw new IllegalArgumentException("Template with id " + id + " is already registered!");
+        }
+
+        if (registeredWithName != null) { throw new IllegalArgumentException("Template with name '" + name + "' is already registered!"); }
+
+        E[] newTemplates = Arrays.copyOf(templates, Math.max(templates.length, id + 1));
+        E catalogued = template.withTemplateId(id);
+        newTemplates[id] = catalogued;
+
+        Map<String, E> newTemplatesByName = new HashMap<>(templatesByName);
+        newTemplatesByName.put(name, catalogued);
+
+        ENameRegistry.get().register(catalogued);
+
+        templates = newTemplates;
+        templatesByName = newTemplatesByName;
+
+        return catalogued;
+    }
+
+    /**
+     * @param id Id of a template
+     *
+     * @return Catalogued template with given id or empty {@link java.util.Optional} if there is none
+     */
+    public Optional<E> byId(int id) {
+        E[] t = templates;
+
+        return id < 0 || id >= t.length ? Optional.empty() : Optional.ofNullable(t[id]);
+    }
+
+    /**
+     * @param name Name of a template
+     *
+     * @return Catalogued template with given name or empty {@link java.util.Optional} if there is none
+     */
+    public Optional<E> byName(String name) {
+        return Optional.ofNullable(templatesByName.get(name));
+    }
+
+    /**
+     * @return Number of registered templates
+     */
+    public int size() {
+        return templatesByName.size();
+    }
+
+    /**
+     * Computes a fingerprint of code, name and message of given template, which is the same on every JVM
+     *
+     * <p>Encoders can write it next to the id of a template so that decoding can detect a template registered with the same id
+     * but with another content, such as one from another version of an application.</p>
+     *
+     * @param template A template
+     *
+     * @return Fingerprint of given template
+     */
+    public static int fingerprint(E template) {
+        int h = Objects.hashCode(template.code().orElse(null));
+        h = 31 * h + Objects.hashCode(template.name().orElse(null));
+        h = 31 * h + Objects.hashCode(template.message().orElse(null));
+
+        return h;
+    }
+}
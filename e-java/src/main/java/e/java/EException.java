@@ -3,6 +3,9 @@ package e.java;
 /**
  * A RuntimeException wrapping E to be used where errors are represented as E but an Exception is needed
  *
+ * <p>An EException can be stackless, in which case it captures no stack trace and records no suppressed exceptions.
+ * Creating a stackless EException is much cheaper and it can be shared, which suits expected failures used for control flow.</p>
+ *
  * @see e.java.E
  * @see java.lang.RuntimeException
  */
@@ -10,10 +13,32 @@ public class EException extends RuntimeException {
     public final E e;
 
     public EException(E e) {
+        this(e, true);
+    }
+
+    /**
+     * Creates an EException
+     *
+     * @param e                  An E
+     * @param writableStackTrace Whether or not stack trace is captured and suppressed exceptions are recorded
+     */
+    public EException(E e, boolean writableStackTrace) {
+        super(null, null, writableStackTrace, writableStackTrace);
         if (e == null) throw new IllegalArgumentException("E cannot be null!");
         this.e = e;
     }
 
+    /**
+     * Creates an EException that captures no stack trace and records no suppressed exceptions
+     *
+     * @param e An E
+     *
+     * @return A new stackless EException containing given E
+     */
+    public static EException stackless(E e) {
+        return new EException(e, false);
+    }
+
     @Override public String getMessage() {
         return e.toString();
     }
@@ -0,0 +1,141 @@
+package e.java;
+
+/**
+ * Limits on the size of an E, applied where an E comes from or goes to outside of the application
+ *
+ * <p>Codecs fail to decode an E exceeding these limits, without doing any work for the exceeding part.
+ * Rendering an E as a String truncates the exceeding parts instead and marks them as "...N more".</p>
+ *
+ * <p>Depth is the level of nesting of causes, an E without any causes having a depth of 0 and its causes having a depth of 1.</p>
+ *
+ * @see e.java.ELimits#defaults
+ */
+public final class ELimits {
+    /** Maximum depth of causes */
+    private final int maxDepth;
+
+    /** Maximum number of causes of a single E */
+    private final int maxCauses;
+
+    /** Maximum number of data entries of a single E */
+    private final int maxDataEntries;
+
+    /** Maximum length of name, message, and keys and values of data of a single E */
+    private final int maxStringLength;
+
+    /** Limits used by default, large enough for any reasonable E */
+    public static final ELimits defaults = new ELimits(64, 1024, 1024, 65536);
+
+    /** No limits at all, only to be used for an E from a trusted source */
+    public static final ELimits unlimited = new ELimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * Creates limits
+     *
+     * @param maxDepth        {@link e.java.ELimits#maxDepth}
+     * @param maxCauses       {@link e.java.ELimits#maxCauses}
+     * @param maxDataEntries  {@link e.java.ELimits#maxDataEntries}
+     * @param maxStringLength {@link e.java.ELimits#maxStringLength}
+     *
+     * @throws IllegalArgumentException If any of the limits is negative
+     */
+    public ELimits(int maxDepth, int maxCauses, int maxDataEntries, int maxStringLength) {
+        if (maxDepth < 0) { throw new IllegalArgumentException("Max depth cannot be negative!"); }
+        if (maxCauses < 0) { throw new IllegalArgumentException("Max causes cannot be negative!"); }
+        if (maxDataEntries < 0) { throw new IllegalArgumentException("Max data entries cannot be negative!"); }
+        if (maxStringLength < 0) { throw new IllegalArgumentException("Max string length cannot be negative!"); }
+
+        this.maxDepth = maxDepth;
+        this.maxCauses = maxCauses;
+        this.maxDataEntries = maxDataEntries;
+        this.maxStringLength = maxStringLength;
+    }
+
+    /** @return {@link e.java.ELimits#maxDepth} */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /** @return {@link e.java.ELimits#maxCauses} */
+    public int maxCauses() {
+        return maxCauses;
+    }
+
+    /** @return {@link e.java.ELimits#maxDataEntries} */
+    public int maxDataEntries() {
+        return maxDataEntries;
+    }
+
+    /** @return {@link e.java.ELimits#maxStringLength} */
+    public int maxStringLength() {
+        return maxStringLength;
+    }
+
+    /**
+     * Constructs limits containing given max depth
+     *
+     * @param d A max depth
+     *
+     * @return New limits containing given max depth
+     */
+    public ELimits maxDepth(int d) {
+        return new ELimits(d, maxCauses, maxDataEntries, maxStringLength);
+    }
+
+    /**
+     * Constructs limits containing given max causes
+     *
+     * @param c A max number of causes
+     *
+     * @return New limits containing given max causes
+     */
+    public ELimits maxCauses(int c) {
+        return new ELimits(maxDepth, c, maxDataEntries, maxStringLength);
+    }
+
+    /**
+     * Constructs limits containing given max data entries
+     *
+     * @param d A max number of data entries
+     *
+     * @return New limits containing given max data entries
+     */
+    public ELimits maxDataEntries(int d) {
+        return new ELimits(maxDepth, maxCauses, d, maxStringLength);
+    }
+
+    /**
+     * Constructs limits containing given max string length
+     *
+     * @param l A max string length
+     *
+     * @return New limits containing given max string length
+     */
+    public ELimits maxStringLength(int l) {
+        return new ELimits(maxDepth, maxCauses, maxDataEntries, l);
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ELimits)) return false;
+        ELimits that = (ELimits) o;
+
+        return this.maxDepth == that.maxDepth &&
+               this.maxCauses == that.maxCauses &&
+               this.maxDataEntries == that.maxDataEntries &&
+               this.maxStringLength == that.maxStringLength;
+    }
+
+    @Override public int hashCode() {
+        int h = maxDepth;
+        h = 31 * h + maxCauses;
+        h = 31 * h + maxDataEntries;
+        h = 31 * h + maxStringLength;
+
+        return h;
+    }
+
+    @Override public String toString() {
+        return "{\"maxDepth\":" + maxDepth + ",\"maxCauses\":" + maxCauses + ",\"maxDataEntries\":" + maxDataEntries + ",\"maxStringLength\":" + maxStringLength + "}";
+    }
+}
@@ -0,0 +1,112 @@
+package e.java;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A registry of canonical instances of names, data keys and whole errors that an application uses over and over
+ *
+ * <p>Only registered values are canonicalized so that the registry cannot grow with the input, such as errors decoded from requests.
+ * Names given to E and data keys given to E one by one are replaced with their registered instances,
+ * so are the names and data keys of decoded errors. Codecs also replace a decoded E equal to a registered template with the template itself.
+ * Errors sharing canonical instances take less memory when retained and compare faster since equal references are compared first.</p>
+ *
+ * <p>Registering is meant to be done once at startup and it copies the registry. Looking values up does not lock.</p>
+ */
+public final class ENameRegistry {
+    private static final ENameRegistry instance = new ENameRegistry();
+
+    private volatile Map<String, String> strings = new HashMap<>();
+    private volatile Map<E, E> templates = new HashMap<>();
+
+    private ENameRegistry() {}
+
+    /**
+     * @return The registry used by E and the codecs
+     */
+    public static ENameRegistry get() {
+        return instance;
+    }
+
+    /**
+     * Registers given names or data keys, keeping the instances registered before
+     *
+     * @param names Some names or data keys
+     *
+     * @return This registry for chaining
+     */
+    public synchronized ENameRegistry register(String... names) {
+        Map<String, String> newStrings = new HashMap<>(strings);
+        for (String name : names) {
+            if (name != null) { newStrings.putIfAbsent(name, name); }
+        }
+        strings = newStrings;
+
+        return this;
+    }
+
+    /**
+     * Registers given errors as templates, as well as names and data keys of them and their causes
+     *
+     * @param es Some errors, usually constants
+     *
+     * @return This registry for chaining
+     */
+    public synchronized ENameRegistry register(E... es) {
+        Map<String, String> newStrings = new HashMap<>(strings);
+        Map<E, E> newTemplates = new HashMap<>(templates);
+
+        ArrayDeque<E> remaining = new ArrayDeque<>();
+        for (E e : es) {
+            if (e == null) { continue; }
+
+            newTemplates.putIfAbsent(e, e);
+            remaining.push(e);
+        }
+
+        while (!remaining.isEmpty()) {
+            E e = remaining.pop();
+
+            e.name().ifPresent(name -> newStrings.putIfAbsent(name, name));
+            for (String key : e.data().keySet()) {
+                if (key != null) { newStrings.putIfAbsent(key, key); }
+            }
+            for (E cause : e.causes()) {
+                if (cause != null) { remaining.push(cause); }
+            }
+        }
+
+        strings = newStrings;
+        templates = newTemplates;
+
+        return this;
+    }
+
+    /**
+     * @param s A name or a data key
+     *
+     * @return Registered instance equal to given string or given string itself if it is not registered
+     */
+    public String canonical(String s) {
+        if (s == null) { return null; }
+
+        String registered = strings.get(s);
+
+        return registered == null ? s : registered;
+    }
+
+    /**
+     * @param e An E
+     *
+     * @return Registered template equal to given E or given E itself if it is not registered
+     */
+    public E canonical(E e) {
+        Map<E, E> t = templates;
+        if (e == null || t.isEmpty()) { return e; }
+
+        E registered = t.get(e);
+
+        return registered == null ? e : registered;
+    }
+}
@@ -1,54 +1,50 @@
 package e.java;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 
 /**
  * A container that can either be a Failure containing an E or Success containing a value
  *
+ * <p>It is sealed so a switch over its cases can be exhaustive. Each operation is implemented by the cases themselves, without checking which case this is.
+ * An operation on a value of a Failure returns the same Failure as it has no value, so chaining operations on a Failure allocates nothing.</p>
+ *
  * @param <A> Type of the value this EOr can contain
  *
  * @see e.java.E
  */
-public interface EOr<A> {
+public sealed interface EOr<A> permits EOr.Failure, EOr.Success {
     /**
      * @return Whether or not this contains an E
      */
-    default boolean hasError() {
-        return this instanceof Failure;
-    }
+    boolean hasError();
 
     /**
      * @return Whether or not this contains a value
      */
-    default boolean hasValue() {
-        return this instanceof Success;
-    }
+    boolean hasValue();
 
     /**
      * @return E in this as an Optional
      */
-    default Optional<E> error() {
-        if (hasValue()) { return Optional.empty(); }
-
-        E e = ((Failure<?>) this).e;
-
-        return Optional.of(e);
-    }
+    Optional<E> error();
 
     /**
      * @return Value in this as an Optional
      */
-    default Optional<A> value() {
-        if (hasError()) { return Optional.empty(); }
-
-        A a = ((Success<A>) this).a;
-
-        return Optional.of(a);
-    }
+    Optional<A> value();
 
     /**
      * Converts value in this, if it exists, using given mapping function to make a new EOr
@@ -57,20 +53,9 @@ public interface EOr<A> {
      *
      * @param f Mapping function
      *
-     * @return A new EOr containing either the new value or E in this one
+     * @return A new EOr containing the new value or this EOr if it has E
      */
-    default <B> EOr<B> map(Function<A, B> f) {
-        if (hasError()) {
-            E e = ((Failure<?>) this).e;
-
-            return new Failure<>(e);
-        }
-
-        A a = ((Success<A>) this).a;
-        B b = f.apply(a);
-
-        return new Success<>(b);
-    }
+    <B> EOr<B> map(Function<A, B> f);
 
     /**
      * Computes a new EOr using value in this, if it exists, with given flat mapping function
@@ -79,19 +64,45 @@ public interface EOr<A> {
      *
      * @param f Flat mapping function
      *
-     * @return Computed EOr or a new EOr containing E in this one
+     * @return Computed EOr or this EOr if it has E
      */
-    default <B> EOr<B> flatMap(Function<A, EOr<B>> f) {
-        if (hasError()) {
-            E e = ((Failure<?>) this).e;
+    <B> EOr<B> flatMap(Function<A, EOr<B>> f);
 
-            return new Failure<>(e);
-        }
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrInt without boxing the new value
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrInt containing either the new value or E in this one
+     */
+    EOrInt mapToInt(ToIntFunction<A> f);
 
-        A a = ((Success<A>) this).a;
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrLong without boxing the new value
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrLong containing either the new value or E in this one
+     */
+    EOrLong mapToLong(ToLongFunction<A> f);
 
-        return f.apply(a);
-    }
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrDouble without boxing the new value
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrDouble containing either the new value or E in this one
+     */
+    EOrDouble mapToDouble(ToDoubleFunction<A> f);
+
+    /**
+     * Converts value in this, if it exists, using given predicate to make a new EOrBoolean
+     *
+     * @param f Predicate
+     *
+     * @return An EOrBoolean containing either the result of the predicate or E in this one
+     */
+    EOrBoolean mapToBoolean(Predicate<A> f);
 
     /**
      * Converts E in this, if it exists, using given mapping function to make a new EOr
@@ -100,14 +111,7 @@ public interface EOr<A> {
      *
      * @return This EOr or a new EOr containing computed E if this one has E
      */
-    default EOr<A> mapError(Function<E, E> f) {
-        if (hasValue()) { return this; }
-
-        E thisE = ((Failure<?>) this).e;
-        E thatE = f.apply(thisE);
-
-        return new Failure<>(thatE);
-    }
+    EOr<A> mapError(Function<E, E> f);
 
     /**
      * Computes a new EOr using E in this, if it exists, with given flat mapping function
@@ -116,13 +120,7 @@ public interface EOr<A> {
      *
      * @return This EOr or a computed EOr if this one has E
      */
-    default EOr<A> flatMapError(Function<E, EOr<A>> f) {
-        if (hasValue()) { return this; }
-
-        E e = ((Failure<?>) this).e;
-
-        return f.apply(e);
-    }
+    EOr<A> flatMapError(Function<E, EOr<A>> f);
 
     /**
      * Folds this into a single value, handling both E and value conversions with given functions
@@ -134,17 +132,7 @@ public interface EOr<A> {
      *
      * @return Converted result
      */
-    default <B> B fold(Function<E, B> ifFailure, Function<A, B> ifSuccess) {
-        if (hasError()) {
-            E e = ((Failure<?>) this).e;
-
-            return ifFailure.apply(e);
-        }
-
-        A a = ((Success<A>) this).a;
-
-        return ifSuccess.apply(a);
-    }
+    <B> B fold(Function<E, B> ifFailure, Function<A, B> ifSuccess);
 
     /**
      * Gets the value in this or falls back to given default value
@@ -153,11 +141,7 @@ public interface EOr<A> {
      *
      * @return Value in this or given default value
      */
-    default A getOrElse(Supplier<A> alternative) {
-        if (hasValue()) { return ((Success<A>) this).a; }
-
-        return alternative.get();
-    }
+    A getOrElse(Supplier<A> alternative);
 
     /**
      * Provides an alternative EOr if this one has E, ignoring the E
@@ -166,11 +150,7 @@ public interface EOr<A> {
      *
      * @return This EOr or alternative if this one has E
      */
-    default EOr<A> orElse(Supplier<EOr<A>> alternative) {
-        if (hasValue()) { return this; }
-
-        return alternative.get();
-    }
+    EOr<A> orElse(Supplier<EOr<A>> alternative);
 
     /**
      * Provides a next EOr if this one has a value, ignoring the value
@@ -179,17 +159,9 @@ public interface EOr<A> {
      *
      * @param next Next EOr in case this one has a value
      *
-     * @return Next EOr or a new EOr containing E in this one
+     * @return Next EOr or this EOr if it has E
      */
-    default <B> EOr<B> andThen(Supplier<EOr<B>> next) {
-        if (hasError()) {
-            E e = ((Failure<?>) this).e;
-
-            return new Failure<>(e);
-        }
-
-        return next.get();
-    }
+    <B> EOr<B> andThen(Supplier<EOr<B>> next);
 
     /**
      * Performs a side-effect using error in this, if it exists
@@ -198,14 +170,7 @@ public interface EOr<A> {
      *
      * @return This EOr for chaining
      */
-    default EOr<A> onError(Consumer<E> f) {
-        if (hasError()) {
-            E e = ((Failure<A>) this).e;
-            f.accept(e);
-        }
-
-        return this;
-    }
+    EOr<A> onError(Consumer<E> f);
 
     /**
      * Performs a side-effect using value in this, if it exists
@@ -214,14 +179,7 @@ public interface EOr<A> {
      *
      * @return This EOr for chaining
      */
-    default EOr<A> onValue(Consumer<A> f) {
-        if (hasValue()) {
-            A a = ((Success<A>) this).a;
-            f.accept(a);
-        }
-
-        return this;
-    }
+    EOr<A> onValue(Consumer<A> f);
 
     /**
      * Alias of `onValue`
@@ -242,15 +200,7 @@ public interface EOr<A> {
      *
      * @return This EOr of a new EOr containing an E computed by given conversion function
      */
-    default EOr<A> filter(Function<A, Boolean> condition, Function<A, E> filteredError) {
-        if (hasError()) { return this; }
-
-        A a = ((Success<A>) this).a;
-
-        if (condition.apply(a)) { return this; }
-
-        return filteredError.apply(a).toEOr();
-    }
+    EOr<A> filter(Function<A, Boolean> condition, Function<A, E> filteredError);
 
     /**
      * Filters this EOr by value in it, if it exists
@@ -283,6 +233,95 @@ public interface EOr<A> {
             return e;
         }
 
+        /**
+         * Since a Failure contains no value, it is also a Failure of any other type of value
+         *
+         * @param <B> Type of the value
+         *
+         * @return This Failure as a Failure of given type of value
+         */
+        @SuppressWarnings("unchecked")
+        public <B> Failure<B> as() {
+            return (Failure<B>) this;
+        }
+
+        @Override public boolean hasError() {
+            return true;
+        }
+
+        @Override public boolean hasValue() {
+            return false;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.of(e);
+        }
+
+        @Override public Optional<A> value() {
+            return Optional.empty();
+        }
+
+        @Override public <B> EOr<B> map(Function<A, B> f) {
+            return as();
+        }
+
+        @Override public <B> EOr<B> flatMap(Function<A, EOr<B>> f) {
+            return as();
+        }
+
+        @Override public EOrInt mapToInt(ToIntFunction<A> f) {
+            return new EOrInt.Failure(e);
+        }
+
+        @Override public EOrLong mapToLong(ToLongFunction<A> f) {
+            return new EOrLong.Failure(e);
+        }
+
+        @Override public EOrDouble mapToDouble(ToDoubleFunction<A> f) {
+            return new EOrDouble.Failure(e);
+        }
+
+        @Override public EOrBoolean mapToBoolean(Predicate<A> f) {
+            return new EOrBoolean.Failure(e);
+        }
+
+        @Override public EOr<A> mapError(Function<E, E> f) {
+            return new Failure<>(f.apply(e));
+        }
+
+        @Override public EOr<A> flatMapError(Function<E, EOr<A>> f) {
+            return f.apply(e);
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, Function<A, B> ifSuccess) {
+            return ifFailure.apply(e);
+        }
+
+        @Override public A getOrElse(Supplier<A> alternative) {
+            return alternative.get();
+        }
+
+        @Override public EOr<A> orElse(Supplier<EOr<A>> alternative) {
+            return alternative.get();
+        }
+
+        @Override public <B> EOr<B> andThen(Supplier<EOr<B>> next) {
+            return as();
+        }
+
+        @Override public EOr<A> onError(Consumer<E> f) {
+            f.accept(e);
+            return this;
+        }
+
+        @Override public EOr<A> onValue(Consumer<A> f) {
+            return this;
+        }
+
+        @Override public EOr<A> filter(Function<A, Boolean> condition, Function<A, E> filteredError) {
+            return this;
+        }
+
         @Override public boolean equals(Object o) {
             if (this == o) { return true; }
             if (!(o instanceof Failure)) { return false; }
@@ -318,6 +357,83 @@ public interface EOr<A> {
             return a;
         }
 
+        @Override public boolean hasError() {
+            return false;
+        }
+
+        @Override public boolean hasValue() {
+            return true;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.empty();
+        }
+
+        @Override public Optional<A> value() {
+            return Optional.of(a);
+        }
+
+        @Override public <B> EOr<B> map(Function<A, B> f) {
+            return new Success<>(f.apply(a));
+        }
+
+        @Override public <B> EOr<B> flatMap(Function<A, EOr<B>> f) {
+            return f.apply(a);
+        }
+
+        @Override public EOrInt mapToInt(ToIntFunction<A> f) {
+            return EOrInt.from(f.applyAsInt(a));
+        }
+
+        @Override public EOrLong mapToLong(ToLongFunction<A> f) {
+            return EOrLong.from(f.applyAsLong(a));
+        }
+
+        @Override public EOrDouble mapToDouble(ToDoubleFunction<A> f) {
+            return EOrDouble.from(f.applyAsDouble(a));
+        }
+
+        @Override public EOrBoolean mapToBoolean(Predicate<A> f) {
+            return EOrBoolean.from(f.test(a));
+        }
+
+        @Override public EOr<A> mapError(Function<E, E> f) {
+            return this;
+        }
+
+        @Override public EOr<A> flatMapError(Function<E, EOr<A>> f) {
+            return this;
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, Function<A, B> ifSuccess) {
+            return ifSuccess.apply(a);
+        }
+
+        @Override public A getOrElse(Supplier<A> alternative) {
+            return a;
+        }
+
+        @Override public EOr<A> orElse(Supplier<EOr<A>> alternative) {
+            return this;
+        }
+
+        @Override public <B> EOr<B> andThen(Supplier<EOr<B>> next) {
+            return next.get();
+        }
+
+        @Override public EOr<A> onError(Consumer<E> f) {
+            return this;
+        }
+
+        @Override public EOr<A> onValue(Consumer<A> f) {
+            f.accept(a);
+            return this;
+        }
+
+        @Override public EOr<A> filter(Function<A, Boolean> condition, Function<A, E> filteredError) {
+            return condition.apply(a) ? this : filteredError.apply(a).toEOr();
+        }
+
         @Override public boolean equals(Object o) {
             if (this == o) { return true; }
             if (!(o instanceof Success)) { return false; }
@@ -348,6 +464,20 @@ public interface EOr<A> {
      */
     E filteredError = E.fromName("filtered").message("Condition does not hold!");
 
+    /**
+     * A default E to be used when computing EOrs for some values fails while accumulating failures, whose causes are the failures
+     *
+     * @see e.java.EOr#traverseAccumulating
+     */
+    E traverseError = E.fromName("traverse-error").message("Failed for some values!");
+
+    /**
+     * Key of the data entry containing the index of a value in causes of {@link e.java.EOr#traverseError}, owned by the traversal so that it doesn't clash with data of failures
+     *
+     * @see e.java.EOr#traverseAccumulating
+     */
+    String traverseIndexKey = "traverseIndex";
+
     /**
      * Constructs a failed EOr containing given E
      *
@@ -422,4 +552,124 @@ public interface EOr<A> {
             return new Failure<>(ifFailure.apply(t));
         }
     }
+
+    /**
+     * Turns given EOrs into an EOr of a list of their values, stopping at the first failure
+     *
+     * <p>EOrs after the first failure are not looked at. If given EOrs are a {@link java.util.Collection}, resulting list is allocated at their size.</p>
+     *
+     * @param <A> Type of values
+     *
+     * @param eors Some EOrs
+     *
+     * @return First failure in given EOrs or an EOr containing a list of all values in given order
+     */
+    static <A> EOr<List<A>> sequence(Iterable<EOr<A>> eors) {
+        List<A> values = eors instanceof Collection ? new ArrayList<>(((Collection<EOr<A>>) eors).size()) : new ArrayList<>();
+
+        for (EOr<A> eor : eors) {
+            if (eor instanceof Failure<A> failure) { return failure.as(); }
+
+            values.add(((Success<A>) eor).a);
+        }
+
+        return new Success<>(values);
+    }
+
+    /**
+     * Computes an EOr for each of given values with given function and turns them into an EOr of a list of their values, stopping at the first failure
+     *
+     * <p>Function is not called for values after the one whose EOr is the first failure. Resulting list is allocated at the size of given values.</p>
+     *
+     * @param <A> Type of given values
+     * @param <B> Type of computed values
+     *
+     * @param as Some values
+     * @param f  Function computing an EOr for a value
+     *
+     * @return First failure computed or an EOr containing a list of all computed values in given order
+     */
+    static <A, B> EOr<List<B>> traverse(Collection<A> as, Function<A, EOr<B>> f) {
+        List<B> values = new ArrayList<>(as.size());
+
+        for (A a : as) {
+            EOr<B> eor = f.apply(a);
+
+            if (eor instanceof Failure<B> failure) { return failure.as(); }
+
+            values.add(((Success<B>) eor).a);
+        }
+
+        return new Success<>(values);
+    }
+
+    /**
+     * Collects a stream of EOrs into an EOr of a list of their values, which is the first failure in encounter order if there is any
+     *
+     * <p>EOrs after the first failure are ignored without being kept, but a stream cannot be stopped by a collector so it still produces them.
+     * Use {@link e.java.EOr#traverse} to stop computing EOrs at the first failure. Collecting a parallel stream keeps the first failure in encounter order.</p>
+     *
+     * @param <A> Type of values
+     *
+     * @return A collector of EOrs
+     */
+    static <A> Collector<EOr<A>, ?, EOr<List<A>>> toEOrList() {
+        return new EOrListCollector<>();
+    }
+
+    /**
+     * Computes an EOr for each of given values with given function and turns them into an EOr of a list of their values, accumulating all failures
+     *
+     * <p>Unlike {@link e.java.EOr#traverse}, function is called for all values.</p>
+     *
+     * @param <A> Type of given values
+     * @param <B> Type of computed values
+     *
+     * @param as Some values
+     * @param f  Function computing an EOr for a value
+     *
+     * @return An EOr containing a list of all computed values in given order
+     *         or a failure of {@link e.java.EOr#traverseError} whose causes are all failures in given order, each with its index in {@link e.java.EOr#traverseIndexKey} data
+     */
+    static <A, B> EOr<List<B>> traverseAccumulating(Collection<A> as, Function<A, EOr<B>> f) {
+        return EOrTraversal.accumulating(as, f);
+    }
+
+    /**
+     * Same as {@link e.java.EOr#traverseAccumulating} but it computes EOrs concurrently on the common {@link java.util.concurrent.ForkJoinPool}
+     *
+     * <p>Given values are split into chunks, each of which is traversed in a task. Given function must be safe to call concurrently.
+     * Resulting values and failures are still in given order.</p>
+     *
+     * @param <A> Type of given values
+     * @param <B> Type of computed values
+     *
+     * @param as Some values, with fast random access such as an {@link java.util.ArrayList}
+     * @param f  Function computing an EOr for a value
+     *
+     * @return An EOr containing a list of all computed values in given order
+     *         or a failure of {@link e.java.EOr#traverseError} whose causes are all failures in given order, each with its index in {@link e.java.EOr#traverseIndexKey} data
+     */
+    static <A, B> EOr<List<B>> traverseAccumulatingParallel(List<A> as, Function<A, EOr<B>> f) {
+        return EOrTraversal.accumulatingParallel(as, f, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link e.java.EOr#traverseAccumulatingParallel(List, Function)} but on given pool
+     *
+     * @param <A> Type of given values
+     * @param <B> Type of computed values
+     *
+     * @param as   Some values, with fast random access such as an {@link java.util.ArrayList}
+     * @param f    Function computing an EOr for a value
+     * @param pool A pool to run the tasks on
+     *
+     * @return An EOr containing a list of all computed values in given order
+     *         or a failure of {@link e.java.EOr#traverseError} whose causes are all failures in given order, each with its index in {@link e.java.EOr#traverseIndexKey} data
+     *
+     * @throws IllegalArgumentException If pool is null
+     */
+    static <A, B> EOr<List<B>> traverseAccumulatingParallel(List<A> as, Function<A, EOr<B>> f, ForkJoinPool pool) {
+        return EOrTraversal.accumulatingParallel(as, f, pool);
+    }
 }
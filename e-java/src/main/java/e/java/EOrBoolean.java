@@ -0,0 +1,388 @@
+package e.java;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A specialization of {@link e.java.EOr} for a boolean value, that can either be a Failure containing an E or Success containing a boolean
+ *
+ * <p>There are only two successes, one for each value, so a chain of operations on them allocates nothing. Functions take and return values as {@link java.lang.Boolean}
+ * since there are no functional interfaces of boolean, which doesn't allocate either as there are only two instances of Boolean.
+ * Like EOr, it is sealed and operations on the value of a Failure return the same Failure.</p>
+ *
+ * @see e.java.EOr#mapToBoolean
+ */
+public sealed interface EOrBoolean permits EOrBoolean.Failure, EOrBoolean.Success {
+    /**
+     * @return Whether or not this contains an E
+     */
+    boolean hasError();
+
+    /**
+     * @return Whether or not this contains a value
+     */
+    boolean hasValue();
+
+    /**
+     * @return E in this as an Optional
+     */
+    Optional<E> error();
+
+    /**
+     * @return Value in this as an Optional<Boolean>
+     */
+    Optional<Boolean> value();
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrBoolean
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrBoolean containing the new value or this EOrBoolean if it has E
+     */
+    EOrBoolean map(UnaryOperator<Boolean> f);
+
+    /**
+     * Computes a new EOrBoolean using value in this, if it exists, with given flat mapping function
+     *
+     * @param f Flat mapping function
+     *
+     * @return Computed EOrBoolean or this EOrBoolean if it has E
+     */
+    EOrBoolean flatMap(Function<Boolean, EOrBoolean> f);
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOr
+     *
+     * @param <A> Type of the new value
+     *
+     * @param f Mapping function
+     *
+     * @return A new EOr containing either the new value or E in this one
+     */
+    <A> EOr<A> mapToObj(Function<Boolean, A> f);
+
+    /**
+     * @return An EOr containing either boxed value in this or E in this one
+     */
+    EOr<Boolean> boxed();
+
+    /**
+     * Converts E in this, if it exists, using given mapping function to make a new EOrBoolean
+     *
+     * @param f E mapping function
+     *
+     * @return This EOrBoolean or a new EOrBoolean containing computed E if this one has E
+     */
+    EOrBoolean mapError(Function<E, E> f);
+
+    /**
+     * Computes a new EOrBoolean using E in this, if it exists, with given flat mapping function
+     *
+     * @param f E flat mapping function
+     *
+     * @return This EOrBoolean or a computed EOrBoolean if this one has E
+     */
+    EOrBoolean flatMapError(Function<E, EOrBoolean> f);
+
+    /**
+     * Folds this into a single value, handling both E and value conversions with given functions
+     *
+     * @param <B> Type of the desired result
+     *
+     * @param ifFailure Conversion function for E
+     * @param ifSuccess Conversion function for value
+     *
+     * @return Converted result
+     */
+    <B> B fold(Function<E, B> ifFailure, Function<Boolean, B> ifSuccess);
+
+    /**
+     * Gets the value in this or falls back to given default value
+     *
+     * @param alternative Default value to use in case this has E
+     *
+     * @return Value in this or given default value
+     */
+    boolean getOrElse(BooleanSupplier alternative);
+
+    /**
+     * Provides an alternative EOrBoolean if this one has E, ignoring the E
+     *
+     * @param alternative Alternative EOrBoolean in case this one has E
+     *
+     * @return This EOrBoolean or alternative if this one has E
+     */
+    EOrBoolean orElse(Supplier<EOrBoolean> alternative);
+
+    /**
+     * Performs a side-effect using error in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrBoolean for chaining
+     */
+    EOrBoolean onError(Consumer<E> f);
+
+    /**
+     * Performs a side-effect using value in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrBoolean for chaining
+     */
+    EOrBoolean onValue(Consumer<Boolean> f);
+
+    /**
+     * Filters this EOrBoolean by value in it, if it exists, using given function
+     *
+     * @param condition     Filtering function
+     * @param filteredError E conversion function
+     *
+     * @return This EOrBoolean of a new EOrBoolean containing an E computed by given conversion function
+     */
+    EOrBoolean filter(Predicate<Boolean> condition, Function<Boolean, E> filteredError);
+
+    /**
+     * Filters this EOrBoolean by value in it, if it exists
+     *
+     * @param condition Filtering function
+     *
+     * @return This EOrBoolean of a new EOrBoolean containing an E
+     *
+     * @see e.java.EOr#filteredError
+     */
+    default EOrBoolean filter(Predicate<Boolean> condition) {
+        return filter(condition, a -> EOr.filteredError.data("value", a));
+    }
+
+    /**
+     * A failed EOrBoolean
+     */
+    final class Failure implements EOrBoolean {
+        private final E e;
+
+        public Failure(E e) {
+            if (e == null) { throw new IllegalArgumentException("E cannot be null!"); }
+            this.e = e;
+        }
+
+        /** @return E in this EOrBoolean */
+        public E e() {
+            return e;
+        }
+
+        @Override public boolean hasError() {
+            return true;
+        }
+
+        @Override public boolean hasValue() {
+            return false;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.of(e);
+        }
+
+        @Override public Optional<Boolean> value() {
+            return Optional.empty();
+        }
+
+        @Override public EOrBoolean map(UnaryOperator<Boolean> f) {
+            return this;
+        }
+
+        @Override public EOrBoolean flatMap(Function<Boolean, EOrBoolean> f) {
+            return this;
+        }
+
+        @Override public <A> EOr<A> mapToObj(Function<Boolean, A> f) {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOr<Boolean> boxed() {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOrBoolean mapError(Function<E, E> f) {
+            return new Failure(f.apply(e));
+        }
+
+        @Override public EOrBoolean flatMapError(Function<E, EOrBoolean> f) {
+            return f.apply(e);
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, Function<Boolean, B> ifSuccess) {
+            return ifFailure.apply(e);
+        }
+
+        @Override public boolean getOrElse(BooleanSupplier alternative) {
+            return alternative.getAsBoolean();
+        }
+
+        @Override public EOrBoolean orElse(Supplier<EOrBoolean> alternative) {
+            return alternative.get();
+        }
+
+        @Override public EOrBoolean onError(Consumer<E> f) {
+            f.accept(e);
+            return this;
+        }
+
+        @Override public EOrBoolean onValue(Consumer<Boolean> f) {
+            return this;
+        }
+
+        @Override public EOrBoolean filter(Predicate<Boolean> condition, Function<Boolean, E> filteredError) {
+            return this;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Failure)) { return false; }
+
+            Failure that = (Failure) o;
+
+            return this.e.equals(that.e);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(e);
+        }
+
+        @Override public String toString() {
+            return e.toString();
+        }
+    }
+
+    /**
+     * A successful EOrBoolean
+     *
+     * @see e.java.EOrBoolean#from(boolean)
+     */
+    final class Success implements EOrBoolean {
+        private static final Success successOfTrue = new Success(true);
+        private static final Success successOfFalse = new Success(false);
+
+        private final boolean a;
+
+        private Success(boolean a) {
+            this.a = a;
+        }
+
+        /** @return Value in this EOrBoolean */
+        public boolean a() {
+            return a;
+        }
+
+        @Override public boolean hasError() {
+            return false;
+        }
+
+        @Override public boolean hasValue() {
+            return true;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.empty();
+        }
+
+        @Override public Optional<Boolean> value() {
+            return Optional.of(a);
+        }
+
+        @Override public EOrBoolean map(UnaryOperator<Boolean> f) {
+            return from(f.apply(a));
+        }
+
+        @Override public EOrBoolean flatMap(Function<Boolean, EOrBoolean> f) {
+            return f.apply(a);
+        }
+
+        @Override public <A> EOr<A> mapToObj(Function<Boolean, A> f) {
+            return new EOr.Success<>(f.apply(a));
+        }
+
+        @Override public EOr<Boolean> boxed() {
+            return new EOr.Success<>(a);
+        }
+
+        @Override public EOrBoolean mapError(Function<E, E> f) {
+            return this;
+        }
+
+        @Override public EOrBoolean flatMapError(Function<E, EOrBoolean> f) {
+            return this;
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, Function<Boolean, B> ifSuccess) {
+            return ifSuccess.apply(a);
+        }
+
+        @Override public boolean getOrElse(BooleanSupplier alternative) {
+            return a;
+        }
+
+        @Override public EOrBoolean orElse(Supplier<EOrBoolean> alternative) {
+            return this;
+        }
+
+        @Override public EOrBoolean onError(Consumer<E> f) {
+            return this;
+        }
+
+        @Override public EOrBoolean onValue(Consumer<Boolean> f) {
+            f.accept(a);
+            return this;
+        }
+
+        @Override public EOrBoolean filter(Predicate<Boolean> condition, Function<Boolean, E> filteredError) {
+            return condition.test(a) ? this : new Failure(filteredError.apply(a));
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Success)) { return false; }
+
+            Success that = (Success) o;
+
+            return this.a == that.a;
+        }
+
+        @Override public int hashCode() {
+            return Boolean.hashCode(a);
+        }
+
+        @Override public String toString() {
+            return String.valueOf(a);
+        }
+    }
+
+    /**
+     * Constructs a failed EOrBoolean containing given E
+     *
+     * @param e An E
+     *
+     * @return A new failed EOrBoolean containing given E
+     */
+    static EOrBoolean from(E e) {
+        return new Failure(e);
+    }
+
+    /**
+     * Constructs a successful EOrBoolean containing given value, which is always a cached instance
+     *
+     * @param value A value
+     *
+     * @return A successful EOrBoolean containing given value
+     */
+    static EOrBoolean from(boolean value) {
+        return value ? Success.successOfTrue : Success.successOfFalse;
+    }
+}
@@ -0,0 +1,402 @@
+package e.java;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A specialization of {@link e.java.EOr} for a double value, that can either be a Failure containing an E or Success containing a double
+ *
+ * <p>Values are never boxed. Successes of integral values between -128 and 127 are cached so a chain of operations on them allocates nothing.
+ * Like EOr, it is sealed and operations on the value of a Failure return the same Failure.</p>
+ *
+ * @see e.java.EOr#mapToDouble
+ */
+public sealed interface EOrDouble permits EOrDouble.Failure, EOrDouble.Success {
+    /**
+     * @return Whether or not this contains an E
+     */
+    boolean hasError();
+
+    /**
+     * @return Whether or not this contains a value
+     */
+    boolean hasValue();
+
+    /**
+     * @return E in this as an Optional
+     */
+    Optional<E> error();
+
+    /**
+     * @return Value in this as an OptionalDouble
+     */
+    OptionalDouble value();
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrDouble
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrDouble containing the new value or this EOrDouble if it has E
+     */
+    EOrDouble map(DoubleUnaryOperator f);
+
+    /**
+     * Computes a new EOrDouble using value in this, if it exists, with given flat mapping function
+     *
+     * @param f Flat mapping function
+     *
+     * @return Computed EOrDouble or this EOrDouble if it has E
+     */
+    EOrDouble flatMap(DoubleFunction<EOrDouble> f);
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOr
+     *
+     * @param <A> Type of the new value
+     *
+     * @param f Mapping function
+     *
+     * @return A new EOr containing either the new value or E in this one
+     */
+    <A> EOr<A> mapToObj(DoubleFunction<A> f);
+
+    /**
+     * @return An EOr containing either boxed value in this or E in this one
+     */
+    EOr<Double> boxed();
+
+    /**
+     * Converts E in this, if it exists, using given mapping function to make a new EOrDouble
+     *
+     * @param f E mapping function
+     *
+     * @return This EOrDouble or a new EOrDouble containing computed E if this one has E
+     */
+    EOrDouble mapError(Function<E, E> f);
+
+    /**
+     * Computes a new EOrDouble using E in this, if it exists, with given flat mapping function
+     *
+     * @param f E flat mapping function
+     *
+     * @return This EOrDouble or a computed EOrDouble if this one has E
+     */
+    EOrDouble flatMapError(Function<E, EOrDouble> f);
+
+    /**
+     * Folds this into a single value, handling both E and value conversions with given functions
+     *
+     * @param <B> Type of the desired result
+     *
+     * @param ifFailure Conversion function for E
+     * @param ifSuccess Conversion function for value
+     *
+     * @return Converted result
+     */
+    <B> B fold(Function<E, B> ifFailure, DoubleFunction<B> ifSuccess);
+
+    /**
+     * Gets the value in this or falls back to given default value
+     *
+     * @param alternative Default value to use in case this has E
+     *
+     * @return Value in this or given default value
+     */
+    double getOrElse(DoubleSupplier alternative);
+
+    /**
+     * Provides an alternative EOrDouble if this one has E, ignoring the E
+     *
+     * @param alternative Alternative EOrDouble in case this one has E
+     *
+     * @return This EOrDouble or alternative if this one has E
+     */
+    EOrDouble orElse(Supplier<EOrDouble> alternative);
+
+    /**
+     * Performs a side-effect using error in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrDouble for chaining
+     */
+    EOrDouble onError(Consumer<E> f);
+
+    /**
+     * Performs a side-effect using value in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrDouble for chaining
+     */
+    EOrDouble onValue(DoubleConsumer f);
+
+    /**
+     * Filters this EOrDouble by value in it, if it exists, using given function
+     *
+     * @param condition     Filtering function
+     * @param filteredError E conversion function
+     *
+     * @return This EOrDouble of a new EOrDouble containing an E computed by given conversion function
+     */
+    EOrDouble filter(DoublePredicate condition, DoubleFunction<E> filteredError);
+
+    /**
+     * Filters this EOrDouble by value in it, if it exists
+     *
+     * @param condition Filtering function
+     *
+     * @return This EOrDouble of a new EOrDouble containing an E
+     *
+     * @see e.java.EOr#filteredError
+     */
+    default EOrDouble filter(DoublePredicate condition) {
+        return filter(condition, a -> EOr.filteredError.data("value", a));
+    }
+
+    /**
+     * A failed EOrDouble
+     */
+    final class Failure implements EOrDouble {
+        private final E e;
+
+        public Failure(E e) {
+            if (e == null) { throw new IllegalArgumentException("E cannot be null!"); }
+            this.e = e;
+        }
+
+        /** @return E in this EOrDouble */
+        public E e() {
+            return e;
+        }
+
+        @Override public boolean hasError() {
+            return true;
+        }
+
+        @Override public boolean hasValue() {
+            return false;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.of(e);
+        }
+
+        @Override public OptionalDouble value() {
+            return OptionalDouble.empty();
+        }
+
+        @Override public EOrDouble map(DoubleUnaryOperator f) {
+            return this;
+        }
+
+        @Override public EOrDouble flatMap(DoubleFunction<EOrDouble> f) {
+            return this;
+        }
+
+        @Override public <A> EOr<A> mapToObj(DoubleFunction<A> f) {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOr<Double> boxed() {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOrDouble mapError(Function<E, E> f) {
+            return new Failure(f.apply(e));
+        }
+
+        @Override public EOrDouble flatMapError(Function<E, EOrDouble> f) {
+            return f.apply(e);
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, DoubleFunction<B> ifSuccess) {
+            return ifFailure.apply(e);
+        }
+
+        @Override public double getOrElse(DoubleSupplier alternative) {
+            return alternative.getAsDouble();
+        }
+
+        @Override public EOrDouble orElse(Supplier<EOrDouble> alternative) {
+            return alternative.get();
+        }
+
+        @Override public EOrDouble onError(Consumer<E> f) {
+            f.accept(e);
+            return this;
+        }
+
+        @Override public EOrDouble onValue(DoubleConsumer f) {
+            return this;
+        }
+
+        @Override public EOrDouble filter(DoublePredicate condition, DoubleFunction<E> filteredError) {
+            return this;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Failure)) { return false; }
+
+            Failure that = (Failure) o;
+
+            return this.e.equals(that.e);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(e);
+        }
+
+        @Override public String toString() {
+            return e.toString();
+        }
+    }
+
+    /**
+     * A successful EOrDouble
+     *
+     * @see e.java.EOrDouble#from(double)
+     */
+    final class Success implements EOrDouble {
+        private static final int minCached = -128;
+        private static final int maxCached = 127;
+        private static final long negativeZeroBits = Double.doubleToRawLongBits(-0.0);
+        private static final Success[] cache = new Success[maxCached - minCached + 1];
+
+        static {
+            for (int i = 0; i < cache.length; i++) { cache[i] = new Success(minCached + i); }
+        }
+
+        private final double a;
+
+        public Success(double a) {
+            this.a = a;
+        }
+
+        /** @return Value in this EOrDouble */
+        public double a() {
+            return a;
+        }
+
+        @Override public boolean hasError() {
+            return false;
+        }
+
+        @Override public boolean hasValue() {
+            return true;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.empty();
+        }
+
+        @Override public OptionalDouble value() {
+            return OptionalDouble.of(a);
+        }
+
+        @Override public EOrDouble map(DoubleUnaryOperator f) {
+            return from(f.applyAsDouble(a));
+        }
+
+        @Override public EOrDouble flatMap(DoubleFunction<EOrDouble> f) {
+            return f.apply(a);
+        }
+
+        @Override public <A> EOr<A> mapToObj(DoubleFunction<A> f) {
+            return new EOr.Success<>(f.apply(a));
+        }
+
+        @Override public EOr<Double> boxed() {
+            return new EOr.Success<>(a);
+        }
+
+        @Override public EOrDouble mapError(Function<E, E> f) {
+            return this;
+        }
+
+        @Override public EOrDouble flatMapError(Function<E, EOrDouble> f) {
+            return this;
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, DoubleFunction<B> ifSuccess) {
+            return ifSuccess.apply(a);
+        }
+
+        @Override public double getOrElse(DoubleSupplier alternative) {
+            return a;
+        }
+
+        @Override public EOrDouble orElse(Supplier<EOrDouble> alternative) {
+            return this;
+        }
+
+        @Override public EOrDouble onError(Consumer<E> f) {
+            return this;
+        }
+
+        @Override public EOrDouble onValue(DoubleConsumer f) {
+            f.accept(a);
+            return this;
+        }
+
+        @Override public EOrDouble filter(DoublePredicate condition, DoubleFunction<E> filteredError) {
+            return condition.test(a) ? this : new Failure(filteredError.apply(a));
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Success)) { return false; }
+
+            Success that = (Success) o;
+
+            return Double.compare(this.a, that.a) == 0;
+        }
+
+        @Override public int hashCode() {
+            return Double.hashCode(a);
+        }
+
+        @Override public String toString() {
+            return String.valueOf(a);
+        }
+    }
+
+    /**
+     * Constructs a failed EOrDouble containing given E
+     *
+     * @param e An E
+     *
+     * @return A new failed EOrDouble containing given E
+     */
+    static EOrDouble from(E e) {
+        return new Failure(e);
+    }
+
+    /**
+     * Constructs a successful EOrDouble containing given value, which is a cached instance for an integral value between -128 and 127
+     *
+     * @param value A value
+     *
+     * @return A successful EOrDouble containing given value
+     */
+    static EOrDouble from(double value) {
+        // Negative zero is equal to zero but it is not the same value
+        boolean cached = value == (int) value &&
+                         value >= Success.minCached &&
+                         value <= Success.maxCached &&
+                         Double.doubleToRawLongBits(value) != Success.negativeZeroBits;
+
+        return cached ? Success.cache[(int) value - Success.minCached] : new Success(value);
+    }
+}
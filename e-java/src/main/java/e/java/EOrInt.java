@@ -0,0 +1,431 @@
+package e.java;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * A specialization of {@link e.java.EOr} for an int value, that can either be a Failure containing an E or Success containing an int
+ *
+ * <p>Values are never boxed. Successes of small values are cached like {@link java.lang.Integer#valueOf(int)} so a chain of operations on them allocates nothing.
+ * Like EOr, it is sealed and operations on the value of a Failure return the same Failure.</p>
+ *
+ * @see e.java.EOr#mapToInt
+ */
+public sealed interface EOrInt permits EOrInt.Failure, EOrInt.Success {
+    /**
+     * @return Whether or not this contains an E
+     */
+    boolean hasError();
+
+    /**
+     * @return Whether or not this contains a value
+     */
+    boolean hasValue();
+
+    /**
+     * @return E in this as an Optional
+     */
+    Optional<E> error();
+
+    /**
+     * @return Value in this as an OptionalInt
+     */
+    OptionalInt value();
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrInt
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrInt containing the new value or this EOrInt if it has E
+     */
+    EOrInt map(IntUnaryOperator f);
+
+    /**
+     * Computes a new EOrInt using value in this, if it exists, with given flat mapping function
+     *
+     * @param f Flat mapping function
+     *
+     * @return Computed EOrInt or this EOrInt if it has E
+     */
+    EOrInt flatMap(IntFunction<EOrInt> f);
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOr
+     *
+     * @param <A> Type of the new value
+     *
+     * @param f Mapping function
+     *
+     * @return A new EOr containing either the new value or E in this one
+     */
+    <A> EOr<A> mapToObj(IntFunction<A> f);
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrLong
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrLong containing either the new value or E in this one
+     */
+    EOrLong mapToLong(IntToLongFunction f);
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrDouble
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrDouble containing either the new value or E in this one
+     */
+    EOrDouble mapToDouble(IntToDoubleFunction f);
+
+    /**
+     * @return An EOr containing either boxed value in this or E in this one
+     */
+    EOr<Integer> boxed();
+
+    /**
+     * Converts E in this, if it exists, using given mapping function to make a new EOrInt
+     *
+     * @param f E mapping function
+     *
+     * @return This EOrInt or a new EOrInt containing computed E if this one has E
+     */
+    EOrInt mapError(Function<E, E> f);
+
+    /**
+     * Computes a new EOrInt using E in this, if it exists, with given flat mapping function
+     *
+     * @param f E flat mapping function
+     *
+     * @return This EOrInt or a computed EOrInt if this one has E
+     */
+    EOrInt flatMapError(Function<E, EOrInt> f);
+
+    /**
+     * Folds this into a single value, handling both E and value conversions with given functions
+     *
+     * @param <B> Type of the desired result
+     *
+     * @param ifFailure Conversion function for E
+     * @param ifSuccess Conversion function for value
+     *
+     * @return Converted result
+     */
+    <B> B fold(Function<E, B> ifFailure, IntFunction<B> ifSuccess);
+
+    /**
+     * Gets the value in this or falls back to given default value
+     *
+     * @param alternative Default value to use in case this has E
+     *
+     * @return Value in this or given default value
+     */
+    int getOrElse(IntSupplier alternative);
+
+    /**
+     * Provides an alternative EOrInt if this one has E, ignoring the E
+     *
+     * @param alternative Alternative EOrInt in case this one has E
+     *
+     * @return This EOrInt or alternative if this one has E
+     */
+    EOrInt orElse(Supplier<EOrInt> alternative);
+
+    /**
+     * Performs a side-effect using error in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrInt for chaining
+     */
+    EOrInt onError(Consumer<E> f);
+
+    /**
+     * Performs a side-effect using value in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrInt for chaining
+     */
+    EOrInt onValue(IntConsumer f);
+
+    /**
+     * Filters this EOrInt by value in it, if it exists, using given function
+     *
+     * @param condition     Filtering function
+     * @param filteredError E conversion function
+     *
+     * @return This EOrInt of a new EOrInt containing an E computed by given conversion function
+     */
+    EOrInt filter(IntPredicate condition, IntFunction<E> filteredError);
+
+    /**
+     * Filters this EOrInt by value in it, if it exists
+     *
+     * @param condition Filtering function
+     *
+     * @return This EOrInt of a new EOrInt containing an E
+     *
+     * @see e.java.EOr#filteredError
+     */
+    default EOrInt filter(IntPredicate condition) {
+        return filter(condition, a -> EOr.filteredError.data("value", a));
+    }
+
+    /**
+     * A failed EOrInt
+     */
+    final class Failure implements EOrInt {
+        private final E e;
+
+        public Failure(E e) {
+            if (e == null) { throw new IllegalArgumentException("E cannot be null!"); }
+            this.e = e;
+        }
+
+        /** @return E in this EOrInt */
+        public E e() {
+            return e;
+        }
+
+        @Override public boolean hasError() {
+            return true;
+        }
+
+        @Override public boolean hasValue() {
+            return false;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.of(e);
+        }
+
+        @Override public OptionalInt value() {
+            return OptionalInt.empty();
+        }
+
+        @Override public EOrInt map(IntUnaryOperator f) {
+            return this;
+        }
+
+        @Override public EOrInt flatMap(IntFunction<EOrInt> f) {
+            return this;
+        }
+
+        @Override public <A> EOr<A> mapToObj(IntFunction<A> f) {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOrLong mapToLong(IntToLongFunction f) {
+            return new EOrLong.Failure(e);
+        }
+
+        @Override public EOrDouble mapToDouble(IntToDoubleFunction f) {
+            return new EOrDouble.Failure(e);
+        }
+
+        @Override public EOr<Integer> boxed() {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOrInt mapError(Function<E, E> f) {
+            return new Failure(f.apply(e));
+        }
+
+        @Override public EOrInt flatMapError(Function<E, EOrInt> f) {
+            return f.apply(e);
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, IntFunction<B> ifSuccess) {
+            return ifFailure.apply(e);
+        }
+
+        @Override public int getOrElse(IntSupplier alternative) {
+            return alternative.getAsInt();
+        }
+
+        @Override public EOrInt orElse(Supplier<EOrInt> alternative) {
+            return alternative.get();
+        }
+
+        @Override public EOrInt onError(Consumer<E> f) {
+            f.accept(e);
+            return this;
+        }
+
+        @Override public EOrInt onValue(IntConsumer f) {
+            return this;
+        }
+
+        @Override public EOrInt filter(IntPredicate condition, IntFunction<E> filteredError) {
+            return this;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Failure)) { return false; }
+
+            Failure that = (Failure) o;
+
+            return this.e.equals(that.e);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(e);
+        }
+
+        @Override public String toString() {
+            return e.toString();
+        }
+    }
+
+    /**
+     * A successful EOrInt
+     *
+     * @see e.java.EOrInt#from(int)
+     */
+    final class Success implements EOrInt {
+        private static final int minCached = -128;
+        private static final int maxCached = 127;
+        private static final Success[] cache = new Success[maxCached - minCached + 1];
+
+        static {
+            for (int i = 0; i < cache.length; i++) { cache[i] = new Success(minCached + i); }
+        }
+
+        private final int a;
+
+        public Success(int a) {
+            this.a = a;
+        }
+
+        /** @return Value in this EOrInt */
+        public int a() {
+            return a;
+        }
+
+        @Override public boolean hasError() {
+            return false;
+        }
+
+        @Override public boolean hasValue() {
+            return true;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.empty();
+        }
+
+        @Override public OptionalInt value() {
+            return OptionalInt.of(a);
+        }
+
+        @Override public EOrInt map(IntUnaryOperator f) {
+            return from(f.applyAsInt(a));
+        }
+
+        @Override public EOrInt flatMap(IntFunction<EOrInt> f) {
+            return f.apply(a);
+        }
+
+        @Override public <A> EOr<A> mapToObj(IntFunction<A> f) {
+            return new EOr.Success<>(f.apply(a));
+        }
+
+        @Override public EOrLong mapToLong(IntToLongFunction f) {
+            return EOrLong.from(f.applyAsLong(a));
+        }
+
+        @Override public EOrDouble mapToDouble(IntToDoubleFunction f) {
+            return EOrDouble.from(f.applyAsDouble(a));
+        }
+
+        @Override public EOr<Integer> boxed() {
+            return new EOr.Success<>(a);
+        }
+
+        @Override public EOrInt mapError(Function<E, E> f) {
+            return this;
+        }
+
+        @Override public EOrInt flatMapError(Function<E, EOrInt> f) {
+            return this;
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, IntFunction<B> ifSuccess) {
+            return ifSuccess.apply(a);
+        }
+
+        @Override public int getOrElse(IntSupplier alternative) {
+            return a;
+        }
+
+        @Override public EOrInt orElse(Supplier<EOrInt> alternative) {
+            return this;
+        }
+
+        @Override public EOrInt onError(Consumer<E> f) {
+            return this;
+        }
+
+        @Override public EOrInt onValue(IntConsumer f) {
+            f.accept(a);
+            return this;
+        }
+
+        @Override public EOrInt filter(IntPredicate condition, IntFunction<E> filteredError) {
+            return condition.test(a) ? this : new Failure(filteredError.apply(a));
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Success)) { return false; }
+
+            Success that = (Success) o;
+
+            return this.a == that.a;
+        }
+
+        @Override public int hashCode() {
+            return Integer.hashCode(a);
+        }
+
+        @Override public String toString() {
+            return String.valueOf(a);
+        }
+    }
+
+    /**
+     * Constructs a failed EOrInt containing given E
+     *
+     * @param e An E
+     *
+     * @return A new failed EOrInt containing given E
+     */
+    static EOrInt from(E e) {
+        return new Failure(e);
+    }
+
+    /**
+     * Constructs a successful EOrInt containing given value, which is a cached instance for a value between -128 and 127
+     *
+     * @param value A value
+     *
+     * @return A successful EOrInt containing given value
+     */
+    static EOrInt from(int value) {
+        return value >= Success.minCached && value <= Success.maxCached ? Success.cache[value - Success.minCached] : new Success(value);
+    }
+}
@@ -0,0 +1,75 @@
+package e.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * A collector of EOrs into an EOr of a list of their values, keeping the first failure and ignoring everything after it
+ *
+ * @param <A> Type of values
+ *
+ * @see e.java.EOr#toEOrList
+ */
+final class EOrListCollector<A> implements Collector<EOr<A>, EOrListCollector.State<A>, EOr<List<A>>> {
+    /** Values collected so far or the first failure, after which values are no longer kept */
+    static final class State<A> {
+        private final List<A> values = new ArrayList<>();
+        private EOr.Failure<A> failure;
+
+        private void add(EOr<A> eor) {
+            if (failure != null) { return; }
+
+            if (eor instanceof EOr.Failure<A> f) {
+                failure = f;
+                values.clear();
+            } else {
+                values.add(((EOr.Success<A>) eor).a());
+            }
+        }
+
+        private State<A> combine(State<A> that) {
+            // This one comes first in encounter order, so its failure wins
+            if (failure == null) {
+                if (that.failure != null) {
+                    failure = that.failure;
+                    values.clear();
+                } else {
+                    values.addAll(that.values);
+                }
+            }
+
+            return this;
+        }
+
+        private EOr<List<A>> finish() {
+            return failure != null ? failure.as() : new EOr.Success<>(values);
+        }
+    }
+
+    @Override public Supplier<State<A>> supplier() {
+        return State::new;
+    }
+
+    @Override public BiConsumer<State<A>, EOr<A>> accumulator() {
+        return State::add;
+    }
+
+    @Override public BinaryOperator<State<A>> combiner() {
+        return State::combine;
+    }
+
+    @Override public Function<State<A>, EOr<List<A>>> finisher() {
+        return State::finish;
+    }
+
+    @Override public Set<Characteristics> characteristics() {
+        return Collections.emptySet();
+    }
+}
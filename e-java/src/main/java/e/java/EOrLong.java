@@ -0,0 +1,413 @@
+package e.java;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * A specialization of {@link e.java.EOr} for a long value, that can either be a Failure containing an E or Success containing a long
+ *
+ * <p>Values are never boxed. Successes of small values are cached like {@link java.lang.Long#valueOf(long)} so a chain of operations on them allocates nothing.
+ * Like EOr, it is sealed and operations on the value of a Failure return the same Failure.</p>
+ *
+ * @see e.java.EOr#mapToLong
+ */
+public sealed interface EOrLong permits EOrLong.Failure, EOrLong.Success {
+    /**
+     * @return Whether or not this contains an E
+     */
+    boolean hasError();
+
+    /**
+     * @return Whether or not this contains a value
+     */
+    boolean hasValue();
+
+    /**
+     * @return E in this as an Optional
+     */
+    Optional<E> error();
+
+    /**
+     * @return Value in this as an OptionalLong
+     */
+    OptionalLong value();
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrLong
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrLong containing the new value or this EOrLong if it has E
+     */
+    EOrLong map(LongUnaryOperator f);
+
+    /**
+     * Computes a new EOrLong using value in this, if it exists, with given flat mapping function
+     *
+     * @param f Flat mapping function
+     *
+     * @return Computed EOrLong or this EOrLong if it has E
+     */
+    EOrLong flatMap(LongFunction<EOrLong> f);
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOr
+     *
+     * @param <A> Type of the new value
+     *
+     * @param f Mapping function
+     *
+     * @return A new EOr containing either the new value or E in this one
+     */
+    <A> EOr<A> mapToObj(LongFunction<A> f);
+
+    /**
+     * Converts value in this, if it exists, using given mapping function to make a new EOrDouble
+     *
+     * @param f Mapping function
+     *
+     * @return An EOrDouble containing either the new value or E in this one
+     */
+    EOrDouble mapToDouble(LongToDoubleFunction f);
+
+    /**
+     * @return An EOr containing either boxed value in this or E in this one
+     */
+    EOr<Long> boxed();
+
+    /**
+     * Converts E in this, if it exists, using given mapping function to make a new EOrLong
+     *
+     * @param f E mapping function
+     *
+     * @return This EOrLong or a new EOrLong containing computed E if this one has E
+     */
+    EOrLong mapError(Function<E, E> f);
+
+    /**
+     * Computes a new EOrLong using E in this, if it exists, with given flat mapping function
+     *
+     * @param f E flat mapping function
+     *
+     * @return This EOrLong or a computed EOrLong if this one has E
+     */
+    EOrLong flatMapError(Function<E, EOrLong> f);
+
+    /**
+     * Folds this into a single value, handling both E and value conversions with given functions
+     *
+     * @param <B> Type of the desired result
+     *
+     * @param ifFailure Conversion function for E
+     * @param ifSuccess Conversion function for value
+     *
+     * @return Converted result
+     */
+    <B> B fold(Function<E, B> ifFailure, LongFunction<B> ifSuccess);
+
+    /**
+     * Gets the value in this or falls back to given default value
+     *
+     * @param alternative Default value to use in case this has E
+     *
+     * @return Value in this or given default value
+     */
+    long getOrElse(LongSupplier alternative);
+
+    /**
+     * Provides an alternative EOrLong if this one has E, ignoring the E
+     *
+     * @param alternative Alternative EOrLong in case this one has E
+     *
+     * @return This EOrLong or alternative if this one has E
+     */
+    EOrLong orElse(Supplier<EOrLong> alternative);
+
+    /**
+     * Performs a side-effect using error in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrLong for chaining
+     */
+    EOrLong onError(Consumer<E> f);
+
+    /**
+     * Performs a side-effect using value in this, if it exists
+     *
+     * @param f Side-effecting function
+     *
+     * @return This EOrLong for chaining
+     */
+    EOrLong onValue(LongConsumer f);
+
+    /**
+     * Filters this EOrLong by value in it, if it exists, using given function
+     *
+     * @param condition     Filtering function
+     * @param filteredError E conversion function
+     *
+     * @return This EOrLong of a new EOrLong containing an E computed by given conversion function
+     */
+    EOrLong filter(LongPredicate condition, LongFunction<E> filteredError);
+
+    /**
+     * Filters this EOrLong by value in it, if it exists
+     *
+     * @param condition Filtering function
+     *
+     * @return This EOrLong of a new EOrLong containing an E
+     *
+     * @see e.java.EOr#filteredError
+     */
+    default EOrLong filter(LongPredicate condition) {
+        return filter(condition, a -> EOr.filteredError.data("value", a));
+    }
+
+    /**
+     * A failed EOrLong
+     */
+    final class Failure implements EOrLong {
+        private final E e;
+
+        public Failure(E e) {
+            if (e == null) { throw new IllegalArgumentException("E cannot be null!"); }
+            this.e = e;
+        }
+
+        /** @return E in this EOrLong */
+        public E e() {
+            return e;
+        }
+
+        @Override public boolean hasError() {
+            return true;
+        }
+
+        @Override public boolean hasValue() {
+            return false;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.of(e);
+        }
+
+        @Override public OptionalLong value() {
+            return OptionalLong.empty();
+        }
+
+        @Override public EOrLong map(LongUnaryOperator f) {
+            return this;
+        }
+
+        @Override public EOrLong flatMap(LongFunction<EOrLong> f) {
+            return this;
+        }
+
+        @Override public <A> EOr<A> mapToObj(LongFunction<A> f) {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOrDouble mapToDouble(LongToDoubleFunction f) {
+            return new EOrDouble.Failure(e);
+        }
+
+        @Override public EOr<Long> boxed() {
+            return new EOr.Failure<>(e);
+        }
+
+        @Override public EOrLong mapError(Function<E, E> f) {
+            return new Failure(f.apply(e));
+        }
+
+        @Override public EOrLong flatMapError(Function<E, EOrLong> f) {
+            return f.apply(e);
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, LongFunction<B> ifSuccess) {
+            return ifFailure.apply(e);
+        }
+
+        @Override public long getOrElse(LongSupplier alternative) {
+            return alternative.getAsLong();
+        }
+
+        @Override public EOrLong orElse(Supplier<EOrLong> alternative) {
+            return alternative.get();
+        }
+
+        @Override public EOrLong onError(Consumer<E> f) {
+            f.accept(e);
+            return this;
+        }
+
+        @Override public EOrLong onValue(LongConsumer f) {
+            return this;
+        }
+
+        @Override public EOrLong filter(LongPredicate condition, LongFunction<E> filteredError) {
+            return this;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Failure)) { return false; }
+
+            Failure that = (Failure) o;
+
+            return this.e.equals(that.e);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(e);
+        }
+
+        @Override public String toString() {
+            return e.toString();
+        }
+    }
+
+    /**
+     * A successful EOrLong
+     *
+     * @see e.java.EOrLong#from(long)
+     */
+    final class Success implements EOrLong {
+        private static final int minCached = -128;
+        private static final int maxCached = 127;
+        private static final Success[] cache = new Success[maxCached - minCached + 1];
+
+        static {
+            for (int i = 0; i < cache.length; i++) { cache[i] = new Success(minCached + i); }
+        }
+
+        private final long a;
+
+        public Success(long a) {
+            this.a = a;
+        }
+
+        /** @return Value in this EOrLong */
+        public long a() {
+            return a;
+        }
+
+        @Override public boolean hasError() {
+            return false;
+        }
+
+        @Override public boolean hasValue() {
+            return true;
+        }
+
+        @Override public Optional<E> error() {
+            return Optional.empty();
+        }
+
+        @Override public OptionalLong value() {
+            return OptionalLong.of(a);
+        }
+
+        @Override public EOrLong map(LongUnaryOperator f) {
+            return from(f.applyAsLong(a));
+        }
+
+        @Override public EOrLong flatMap(LongFunction<EOrLong> f) {
+            return f.apply(a);
+        }
+
+        @Override public <A> EOr<A> mapToObj(LongFunction<A> f) {
+            return new EOr.Success<>(f.apply(a));
+        }
+
+        @Override public EOrDouble mapToDouble(LongToDoubleFunction f) {
+            return EOrDouble.from(f.applyAsDouble(a));
+        }
+
+        @Override public EOr<Long> boxed() {
+            return new EOr.Success<>(a);
+        }
+
+        @Override public EOrLong mapError(Function<E, E> f) {
+            return this;
+        }
+
+        @Override public EOrLong flatMapError(Function<E, EOrLong> f) {
+            return this;
+        }
+
+        @Override public <B> B fold(Function<E, B> ifFailure, LongFunction<B> ifSuccess) {
+            return ifSuccess.apply(a);
+        }
+
+        @Override public long getOrElse(LongSupplier alternative) {
+            return a;
+        }
+
+        @Override public EOrLong orElse(Supplier<EOrLong> alternative) {
+            return this;
+        }
+
+        @Override public EOrLong onError(Consumer<E> f) {
+            return this;
+        }
+
+        @Override public EOrLong onValue(LongConsumer f) {
+            f.accept(a);
+            return this;
+        }
+
+        @Override public EOrLong filter(LongPredicate condition, LongFunction<E> filteredError) {
+            return condition.test(a) ? this : new Failure(filteredError.apply(a));
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Success)) { return false; }
+
+            Success that = (Success) o;
+
+            return this.a == that.a;
+        }
+
+        @Override public int hashCode() {
+            return Long.hashCode(a);
+        }
+
+        @Override public String toString() {
+            return String.valueOf(a);
+        }
+    }
+
+    /**
+     * Constructs a failed EOrLong containing given E
+     *
+     * @param e An E
+     *
+     * @return A new failed EOrLong containing given E
+     */
+    static EOrLong from(E e) {
+        return new Failure(e);
+    }
+
+    /**
+     * Constructs a successful EOrLong containing given value, which is a cached instance for a value between -128 and 127
+     *
+     * @param value A value
+     *
+     * @return A successful EOrLong containing given value
+     */
+    static EOrLong from(long value) {
+        return value >= Success.minCached && value <= Success.maxCached ? Success.cache[(int) value - Success.minCached] : new Success(value);
+    }
+}
@@ -0,0 +1,119 @@
+package e.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Traversals of values computing an EOr for each of them and accumulating all failures instead of stopping at the first one
+ *
+ * @see e.java.EOr#traverseAccumulating
+ * @see e.java.EOr#traverseAccumulatingParallel
+ */
+final class EOrTraversal {
+    /** Minimum number of values a parallel traversal handles in a single task, so that small inputs are not split into tasks costing more than they do */
+    static final int minChunkSize = 1024;
+
+    /** Number of tasks per thread of the pool a parallel traversal aims for, so that threads finishing early can steal remaining work */
+    private static final int tasksPerThread = 8;
+
+    private EOrTraversal() {}
+
+    static <A, B> EOr<List<B>> accumulating(Collection<A> as, Function<A, EOr<B>> f) {
+        List<B> values = new ArrayList<>(as.size());
+        List<E> failures = null;
+        int index = 0;
+
+        for (A a : as) {
+            EOr<B> eor = f.apply(a);
+
+            if (eor instanceof EOr.Failure<B> failure) {
+                if (failures == null) { failures = new ArrayList<>(); }
+                failures.add(indexed(failure.e(), index));
+            } else if (failures == null) {
+                // Values are no longer needed once there is a failure
+                values.add(((EOr.Success<B>) eor).a());
+            }
+
+            index++;
+        }
+
+        return failures == null ? new EOr.Success<>(values) : new EOr.Failure<>(EOr.traverseError.causes(failures));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <A, B> EOr<List<B>> accumulatingParallel(List<A> as, Function<A, EOr<B>> f, ForkJoinPool pool) {
+        if (pool == null) { throw new IllegalArgumentException("Pool cannot be null!"); }
+
+        int size = as.size();
+        int chunkSize = Math.max(minChunkSize, size / (pool.getParallelism() * tasksPerThread));
+
+        // Each task writes values at its own indices so values are neither copied nor merged
+        Object[] values = new Object[size];
+        List<E> failures = pool.invoke(new Task<>(as, f, values, 0, size, chunkSize));
+
+        return failures == null ? new EOr.Success<>(new ArrayList<>((List<B>) Arrays.asList(values))) : new EOr.Failure<>(EOr.traverseError.causes(failures));
+    }
+
+    /** Adds given index to given failure under a key of the traversal, so that data of the failure is kept */
+    private static E indexed(E e, int index) {
+        return e.data(EOr.traverseIndexKey, index);
+    }
+
+    /** A task traversing values between given indices, resulting in annotated failures in order, or null if there are none */
+    private static final class Task<A, B> extends RecursiveTask<List<E>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<A> as;
+        private final Function<A, EOr<B>> f;
+        private final Object[] values;
+        private final int from;
+        private final int until;
+        private final int chunkSize;
+
+        private Task(List<A> as, Function<A, EOr<B>> f, Object[] values, int from, int until, int chunkSize) {
+            this.as = as;
+            this.f = f;
+            this.values = values;
+            this.from = from;
+            this.until = until;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override protected List<E> compute() {
+            if (until - from <= chunkSize) {
+                List<E> failures = null;
+
+                for (int i = from; i < until; i++) {
+                    EOr<B> eor = f.apply(as.get(i));
+
+                    if (eor instanceof EOr.Failure<B> failure) {
+                        if (failures == null) { failures = new ArrayList<>(); }
+                        failures.add(indexed(failure.e(), i));
+                    } else {
+                        values[i] = ((EOr.Success<B>) eor).a();
+                    }
+                }
+
+                return failures;
+            }
+
+            int middle = (from + until) >>> 1;
+
+            Task<A, B> right = new Task<>(as, f, values, middle, until, chunkSize);
+            right.fork();
+
+            List<E> leftFailures = new Task<>(as, f, values, from, middle, chunkSize).compute();
+            List<E> rightFailures = right.join();
+
+            if (leftFailures == null) { return rightFailures; }
+            if (rightFailures != null) { leftFailures.addAll(rightFailures); }
+
+            return leftFailures;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package e.java;
+
+/**
+ * A function of six arguments
+ *
+ * @param <A1> Type of the first argument
+ * @param <A2> Type of the second argument
+ * @param <A3> Type of the third argument
+ * @param <A4> Type of the fourth argument
+ * @param <A5> Type of the fifth argument
+ * @param <A6> Type of the sixth argument
+ * @param <R> Type of the result
+ */
+@FunctionalInterface
+public interface Function6<A1, A2, A3, A4, A5, A6, R> {
+    /**
+     * Applies this function to given arguments
+     *
+     * @param a1 First argument
+     * @param a2 Second argument
+     * @param a3 Third argument
+     * @param a4 Fourth argument
+     * @param a5 Fifth argument
+     * @param a6 Sixth argument
+     *
+     * @return Result of this function
+     */
+    R apply(A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, A6 a6);
+}
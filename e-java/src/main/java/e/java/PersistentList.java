@@ -0,0 +1,193 @@
+package e.java;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * An immutable and append-only list sharing its structure with the list it is derived from
+ *
+ * <p>Lists of up to two elements keep them in fields and there is a single empty list, so most lists allocate no arrays at all.
+ * Longer lists derived from each other share a single backing array, each looking at a prefix of it.
+ * Appending to the longest list derived from an array claims the next free slot of that array, so it is O(1) amortized.
+ * Appending to any other list, or to a list whose array is full, copies its prefix into a larger array first.</p>
+ *
+ * @param <A> Type of the elements
+ */
+abstract class PersistentList<A> extends AbstractList<A> implements RandomAccess {
+    private static final PersistentList<?> empty = new Empty<>();
+
+    private PersistentList() {}
+
+    @SuppressWarnings("unchecked")
+    static <A> PersistentList<A> empty() {
+        return (PersistentList<A>) empty;
+    }
+
+    static <A> PersistentList<A> from(Collection<? extends A> c) {
+        if (c == null || c.isEmpty()) { return empty(); }
+        if (c instanceof PersistentList) {
+            @SuppressWarnings("unchecked") PersistentList<A> list = (PersistentList<A>) c;
+            return list;
+        }
+
+        int size = c.size();
+
+        if (size <= 2) {
+            Iterator<? extends A> iterator = c.iterator();
+            A first = iterator.next();
+
+            return size == 1 ? new One<>(first) : new Two<>(first, iterator.next());
+        }
+
+        Object[] array = c.toArray();
+
+        return new Many<>(new Buffer(array, array.length), array.length);
+    }
+
+    /**
+     * @param a An element
+     *
+     * @return A new list containing elements of this list and given element
+     */
+    abstract PersistentList<A> append(A a);
+
+    /**
+     * @param c Some elements
+     *
+     * @return A new list containing elements of this list and given elements
+     */
+    PersistentList<A> appendAll(Collection<? extends A> c) {
+        if (c.isEmpty()) { return this; }
+        if (isEmpty()) { return from(c); }
+
+        PersistentList<A> list = this;
+        for (A a : c) { list = list.append(a); }
+
+        return list;
+    }
+
+    private static IndexOutOfBoundsException outOfBounds(int index, int size) {
+        return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private static final class Empty<A> extends PersistentList<A> {
+        @Override PersistentList<A> append(A a) {
+            return new One<>(a);
+        }
+
+        @Override public A get(int index) {
+            throw outOfBounds(index, 0);
+        }
+
+        @Override public int size() {
+            return 0;
+        }
+    }
+
+    private static final class One<A> extends PersistentList<A> {
+        private final A first;
+
+        private One(A first) {
+            this.first = first;
+        }
+
+        @Override PersistentList<A> append(A a) {
+            return new Two<>(first, a);
+        }
+
+        @Override public A get(int index) {
+            if (index != 0) { throw outOfBounds(index, 1); }
+            return first;
+        }
+
+        @Override public int size() {
+            return 1;
+        }
+    }
+
+    private static final class Two<A> extends PersistentList<A> {
+        private final A first;
+        private final A second;
+
+        private Two(A first, A second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override PersistentList<A> append(A a) {
+            Object[] array = new Object[4];
+            array[0] = first;
+            array[1] = second;
+            array[2] = a;
+
+            return new Many<>(new Buffer(array, 3), 3);
+        }
+
+        @Override public A get(int index) {
+            switch (index) {
+                case 0:  return first;
+                case 1:  return second;
+                default: throw outOfBounds(index, 2);
+            }
+        }
+
+        @Override public int size() {
+            return 2;
+        }
+    }
+
+    private static final class Many<A> extends PersistentList<A> {
+        private final Buffer buffer;
+        private final int size;
+
+        private Many(Buffer buffer, int size) {
+            this.buffer = buffer;
+            this.size = size;
+        }
+
+        @Override PersistentList<A> append(A a) {
+            if (size < buffer.array.length && buffer.claim(size)) {
+                buffer.array[size] = a;
+                return new Many<>(buffer, size + 1);
+            }
+
+            // Only the prefix belongs to this list, rest of the slots may be claimed by other lists
+            Object[] array = new Object[size * 2];
+            System.arraycopy(buffer.array, 0, array, 0, size);
+            array[size] = a;
+
+            return new Many<>(new Buffer(array, size + 1), size + 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override public A get(int index) {
+            if (index < 0 || index >= size) { throw outOfBounds(index, size); }
+            return (A) buffer.array[index];
+        }
+
+        @Override public int size() {
+            return size;
+        }
+    }
+
+    /** Backing array shared by lists and number of its slots that are claimed by any of them */
+    private static final class Buffer {
+        private static final AtomicIntegerFieldUpdater<Buffer> claimed = AtomicIntegerFieldUpdater.newUpdater(Buffer.class, "claimedSize");
+
+        private final Object[] array;
+        private volatile int claimedSize;
+
+        private Buffer(Object[] array, int claimedSize) {
+            this.array = array;
+            this.claimedSize = claimedSize;
+        }
+
+        /** Claims the slot at given index, which succeeds only for the longest list using this buffer */
+        private boolean claim(int index) {
+            return claimed.compareAndSet(this, index, index + 1);
+        }
+    }
+}
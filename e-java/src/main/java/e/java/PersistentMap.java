@@ -0,0 +1,396 @@
+package e.java;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * An immutable and insertion-ordered map sharing its structure with the map it is derived from
+ *
+ * <p>Maps of up to {@link e.java.PersistentMap#maxSmallSize} entries keep them in a flat array of keys and values,
+ * in insertion order, and look them up linearly. There is a single empty map.</p>
+ *
+ * <p>Larger maps keep entries in a hash array mapped trie so adding or replacing an entry copies only the O(log n) nodes on its path.
+ * Insertion order is kept in a {@link e.java.PersistentList} of keys.</p>
+ *
+ * <p>Like {@link java.util.LinkedHashMap}, replacing the value of an existing key does not change its position.</p>
+ *
+ * <p>A value is either a String or a {@link e.java.PersistentMap.Lazy} value, which is turned into a String when it is first read.</p>
+ */
+abstract class PersistentMap extends AbstractMap<String, String> {
+    /** Maximum number of entries kept in a flat array before switching to a trie */
+    static final int maxSmallSize = 4;
+
+    static final PersistentMap empty = new Small(new Object[0]);
+
+    private PersistentMap() {}
+
+    static PersistentMap from(Map<String, String> m) {
+        if (m == null || m.isEmpty()) { return empty; }
+        if (m instanceof PersistentMap) { return (PersistentMap) m; }
+
+        return empty.withAll(m);
+    }
+
+    /**
+     * @param key   Key of the entry
+     * @param value Value of the entry, either a String or a {@link e.java.PersistentMap.Lazy} value
+     *
+     * @return A new map containing entries of this map and given entry
+     */
+    abstract PersistentMap with(String key, Object value);
+
+    /**
+     * @param m Some entries
+     *
+     * @return A new map containing entries of this map and given entries
+     */
+    PersistentMap withAll(Map<String, String> m) {
+        PersistentMap map = this;
+        for (Map.Entry<String, String> entry : m.entrySet()) { map = map.with(entry.getKey(), entry.getValue()); }
+
+        return map;
+    }
+
+    private static String value(Object value) {
+        return value instanceof Lazy ? ((Lazy) value).get() : (String) value;
+    }
+
+    /**
+     * A value computed when it is first read and kept afterwards, so that converting a value to a String is not paid for an error that is never read
+     *
+     * <p>Supplier is called at most once, even when the value is first read by many threads at the same time.</p>
+     */
+    static final class Lazy {
+        private volatile Supplier<?> supplier;
+        private String value;
+
+        Lazy(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        String get() {
+            if (supplier != null) {
+                synchronized (this) {
+                    Supplier<?> s = supplier;
+
+                    if (s != null) {
+                        value = String.valueOf(s.get());
+                        // Writing the volatile field after the value publishes the value to threads that see null here
+                        supplier = null;
+                    }
+                }
+            }
+
+            return value;
+        }
+    }
+
+    /** A map of a few entries, kept as keys and values in turns in an array */
+    private static final class Small extends PersistentMap {
+        private final Object[] array;
+
+        private Small(Object[] array) {
+            this.array = array;
+        }
+
+        @Override PersistentMap with(String key, Object value) {
+            int index = indexOf(key);
+
+            if (index >= 0) {
+                if (Objects.equals(value, array[index + 1])) { return this; }
+
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+
+                return new Small(newArray);
+            }
+
+            if (array.length < 2 * maxSmallSize) {
+                Object[] newArray = Arrays.copyOf(array, array.length + 2);
+                newArray[array.length] = key;
+                newArray[array.length + 1] = value;
+
+                return new Small(newArray);
+            }
+
+            PersistentMap large = Large.empty;
+            for (int i = 0; i < array.length; i += 2) { large = large.with((String) array[i], array[i + 1]); }
+
+            return large.with(key, value);
+        }
+
+        @Override public String get(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : value(array[index + 1]);
+        }
+
+        @Override public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override public int size() {
+            return array.length / 2;
+        }
+
+        @Override public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int index = 0;
+
+                        @Override public boolean hasNext() {
+                            return index < array.length;
+                        }
+
+                        @Override public Entry<String, String> next() {
+                            if (!hasNext()) { throw new NoSuchElementException(); }
+
+                            Entry<String, String> entry = new SimpleImmutableEntry<>((String) array[index], value(array[index + 1]));
+                            index += 2;
+
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override public int size() {
+                    return array.length / 2;
+                }
+            };
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(key, array[i])) { return i; }
+            }
+
+            return -1;
+        }
+    }
+
+    /** A map of many entries, kept in a trie and a list of keys in insertion order */
+    private static final class Large extends PersistentMap {
+        private static final Large empty = new Large(PersistentList.empty(), BitmapNode.empty);
+
+        private final PersistentList<String> keys;
+        private final Node root;
+
+        private Large(PersistentList<String> keys, Node root) {
+            this.keys = keys;
+            this.root = root;
+        }
+
+        @Override PersistentMap with(String key, Object value) {
+            Node.Added added = new Node.Added();
+            Node newRoot = root.put(0, Objects.hashCode(key), key, value, added);
+
+            if (newRoot == root) { return this; }
+
+            return new Large(added.value ? keys.append(key) : keys, newRoot);
+        }
+
+        @Override public String get(Object key) {
+            return (key == null || key instanceof String) ? value(root.get(0, Objects.hashCode(key), key)) : null;
+        }
+
+        @Override public boolean containsKey(Object key) {
+            return (key == null || key instanceof String) && root.contains(0, Objects.hashCode(key), key);
+        }
+
+        @Override public int size() {
+            return keys.size();
+        }
+
+        @Override public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override public Iterator<Entry<String, String>> iterator() {
+                    Iterator<String> iterator = keys.iterator();
+
+                    return new Iterator<>() {
+                        @Override public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override public Entry<String, String> next() {
+                            String key = iterator.next();
+                            return new SimpleImmutableEntry<>(key, get(key));
+                        }
+                    };
+                }
+
+                @Override public int size() {
+                    return keys.size();
+                }
+            };
+        }
+    }
+
+    /** A node of the trie */
+    private abstract static class Node {
+        /** Whether or not a put added a new key instead of replacing the value of an existing one */
+        static final class Added {
+            boolean value;
+        }
+
+        abstract Node put(int shift, int hash, String key, Object value, Added added);
+
+        abstract Object get(int shift, int hash, Object key);
+
+        abstract boolean contains(int shift, int hash, Object key);
+
+        static Node of(int shift, int hash1, String key1, Object value1, int hash2, String key2, Object value2) {
+            if (hash1 == hash2) { return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 }); }
+
+            Added ignored = new Added();
+
+            return BitmapNode.empty.put(shift, hash1, key1, value1, ignored).put(shift, hash2, key2, value2, ignored);
+        }
+    }
+
+    /**
+     * A node with up to 32 children, where each child is either an entry or a sub node
+     *
+     * <p>Children are kept in pairs in an array, a pair is either a key and its value or an ignored key and a sub node.</p>
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode empty = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override Node put(int shift, int hash, String key, Object value, Added added) {
+            int bit = bit(shift, hash);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+                added.value = true;
+
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            Object existingKey = array[index];
+            Object existingValue = array[index + 1];
+
+            if (existingValue instanceof Node) {
+                Node node = (Node) existingValue;
+                Node newNode = node.put(shift + 5, hash, key, value, added);
+
+                return newNode == node ? this : with(index, null, newNode);
+            }
+
+            if (Objects.equals(key, existingKey)) {
+                return Objects.equals(value, existingValue) ? this : with(index, key, value);
+            }
+
+            added.value = true;
+
+            Node node = Node.of(shift + 5, Objects.hashCode(existingKey), (String) existingKey, existingValue, hash, key, value);
+
+            return with(index, null, node);
+        }
+
+        @Override Object get(int shift, int hash, Object key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) { return null; }
+
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object value = array[index + 1];
+
+            if (value instanceof Node) { return ((Node) value).get(shift + 5, hash, key); }
+
+            return Objects.equals(key, array[index]) ? value : null;
+        }
+
+        @Override boolean contains(int shift, int hash, Object key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) { return false; }
+
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object value = array[index + 1];
+
+            if (value instanceof Node) { return ((Node) value).contains(shift + 5, hash, key); }
+
+            return Objects.equals(key, array[index]);
+        }
+
+        private BitmapNode with(int index, Object key, Object value) {
+            Object[] newArray = array.clone();
+            newArray[index] = key;
+            newArray[index + 1] = value;
+
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private static int bit(int shift, int hash) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+    }
+
+    /** A node of entries whose keys have the same hash */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override Node put(int shift, int hash, String key, Object value, Added added) {
+            if (hash != this.hash) {
+                // Nest this node under a bitmap node at the level it belongs to, then put the new entry there
+                BitmapNode node = new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[] { null, this });
+
+                return node.put(shift, hash, key, value, added);
+            }
+
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(key, array[i])) {
+                    if (Objects.equals(value, array[i + 1])) { return this; }
+
+                    Object[] newArray = array.clone();
+                    newArray[i + 1] = value;
+
+                    return new CollisionNode(hash, newArray);
+                }
+            }
+
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added.value = true;
+
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override Object get(int shift, int hash, Object key) {
+            if (hash != this.hash) { return null; }
+
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(key, array[i])) { return array[i + 1]; }
+            }
+
+            return null;
+        }
+
+        @Override boolean contains(int shift, int hash, Object key) {
+            if (hash != this.hash) { return false; }
+
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(key, array[i])) { return true; }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package e.java;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Validation of independent EOrs, combining their values if all of them have values and merging all of their failures otherwise
+ *
+ * <p>Unlike chaining EOrs with {@link e.java.EOr#flatMap} or {@link e.java.EOr#andThen}, all given EOrs are checked,
+ * so that all failures can be reported at once. Merged failure is {@link e.java.Validated#validationError}, or another E given via {@link e.java.Validated#withError},
+ * whose causes are the failures in given order. There are overloads for 2 to 6 EOrs so that no array or list is allocated for them.</p>
+ *
+ * <p>There are two ways of merging. {@link e.java.Validated#flat()} adds causes of a failure that is already a merged failure instead of the failure itself,
+ * so that validating the result of a validation keeps all failures at the same level. {@link e.java.Validated#nested()} always adds failures as they are.</p>
+ */
+public final class Validated {
+    /** A default E to be used as the merged failure, whose causes are the failures */
+    public static final E validationError = E.fromName("validation-error").message("Failed to validate!");
+
+    private static final Validated flatInstance = new Validated(validationError, true);
+    private static final Validated nestedInstance = new Validated(validationError, false);
+
+    private final E error;
+    private final boolean flat;
+
+    private Validated(E error, boolean flat) {
+        this.error = error;
+        this.flat = flat;
+    }
+
+    /**
+     * @return Validation adding causes of a failure that is already a merged failure instead of the failure itself
+     */
+    public static Validated flat() {
+        return flatInstance;
+    }
+
+    /**
+     * @return Validation adding failures as they are
+     */
+    public static Validated nested() {
+        return nestedInstance;
+    }
+
+    /**
+     * Creates a validation of the same kind as this one whose merged failure is given E with failures added as its causes
+     *
+     * @param error An E
+     *
+     * @return A new validation with given E
+     *
+     * @throws IllegalArgumentException If E is null
+     */
+    public Validated withError(E error) {
+        if (error == null) { throw new IllegalArgumentException("E cannot be null!"); }
+
+        return new Validated(error, flat);
+    }
+
+    /**
+     * Combines values of given EOrs with given function if all of them have values, merging all of their failures otherwise
+     *
+     * @param <A1> Type of value of EOr 1
+     * @param <A2> Type of value of EOr 2
+     * @param <R> Type of the result
+     *
+     * @param eor1 EOr 1
+     * @param eor2 EOr 2
+     * @param f Function combining values
+     *
+     * @return An EOr containing combined value or merged failures
+     */
+    public <A1, A2, R> EOr<R> mapN(EOr<A1> eor1, EOr<A2> eor2, BiFunction<A1, A2, R> f) {
+        if (eor1 instanceof EOr.Success<A1> success1 &&
+            eor2 instanceof EOr.Success<A2> success2) {
+            return new EOr.Success<>(f.apply(success1.a(), success2.a()));
+        }
+
+        E merged = error;
+        merged = add(merged, eor1);
+        merged = add(merged, eor2);
+
+        return new EOr.Failure<>(merged);
+    }
+
+    /**
+     * Combines values of given EOrs with given function if all of them have values, merging all of their failures otherwise
+     *
+     * @param <A1> Type of value of EOr 1
+     * @param <A2> Type of value of EOr 2
+     * @param <A3> Type of value of EOr 3
+     * @param <R> Type of the result
+     *
+     * @param eor1 EOr 1
+     * @param eor2 EOr 2
+     * @param eor3 EOr 3
+     * @param f Function combining values
+     *
+     * @return An EOr containing combined value or merged failures
+     */
+    public <A1, A2, A3, R> EOr<R> mapN(EOr<A1> eor1, EOr<A2> eor2, EOr<A3> eor3, Function3<A1, A2, A3, R> f) {
+        if (eor1 instanceof EOr.Success<A1> success1 &&
+            eor2 instanceof EOr.Success<A2> success2 &&
+            eor3 instanceof EOr.Success<A3> success3) {
+            return new EOr.Success<>(f.apply(success1.a(), success2.a(), success3.a()));
+        }
+
+        E merged = error;
+        merged = add(merged, eor1);
+        merged = add(merged, eor2);
+        merged = add(merged, eor3);
+
+        return new EOr.Failure<>(merged);
+    }
+
+    /**
+     * Combines values of given EOrs with given function if all of them have values, merging all of their failures otherwise
+     *
+     * @param <A1> Type of value of EOr 1
+     * @param <A2> Type of value of EOr 2
+     * @param <A3> Type of value of EOr 3
+     * @param <A4> Type of value of EOr 4
+     * @param <R> Type of the result
+     *
+     * @param eor1 EOr 1
+     * @param eor2 EOr 2
+     * @param eor3 EOr 3
+     * @param eor4 EOr 4
+     * @param f Function combining values
+     *
+     * @return An EOr containing combined value or merged failures
+     */
+    public <A1, A2, A3, A4, R> EOr<R> mapN(EOr<A1> eor1, EOr<A2> eor2, EOr<A3> eor3, EOr<A4> eor4, Function4<A1, A2, A3, A4, R> f) {
+        if (eor1 instanceof EOr.Success<A1> success1 &&
+            eor2 instanceof EOr.Success<A2> success2 &&
+            eor3 instanceof EOr.Success<A3> success3 &&
+            eor4 instanceof EOr.Success<A4> success4) {
+            return new EOr.Success<>(f.apply(success1.a(), success2.a(), success3.a(), success4.a()));
+        }
+
+        E merged = error;
+        merged = add(merged, eor1);
+        merged = add(merged, eor2);
+        merged = add(merged, eor3);
+        merged = add(merged, eor4);
+
+        return new EOr.Failure<>(merged);
+    }
+
+    /**
+     * Combines values of given EOrs with given function if all of them have values, merging all of their failures otherwise
+     *
+     * @param <A1> Type of value of EOr 1
+     * @param <A2> Type of value of EOr 2
+     * @param <A3> Type of value of EOr 3
+     * @param <A4> Type of value of EOr 4
+     * @param <A5> Type of value of EOr 5
+     * @param <R> Type of the result
+     *
+     * @param eor1 EOr 1
+     * @param eor2 EOr 2
+     * @param eor3 EOr 3
+     * @param eor4 EOr 4
+     * @param eor5 EOr 5
+     * @param f Function combining values
+     *
+     * @return An EOr containing combined value or merged failures
+     */
+    public <A1, A2, A3, A4, A5, R> EOr<R> mapN(EOr<A1> eor1, EOr<A2> eor2, EOr<A3> eor3, EOr<A4> eor4, EOr<A5> eor5, Function5<A1, A2, A3, A4, A5, R> f) {
+        if (eor1 instanceof EOr.Success<A1> success1 &&
+            eor2 instanceof EOr.Success<A2> success2 &&
+            eor3 instanceof EOr.Success<A3> success3 &&
+            eor4 instanceof EOr.Success<A4> success4 &&
+            eor5 instanceof EOr.Success<A5> success5) {
+            return new EOr.Success<>(f.apply(success1.a(), success2.a(), success3.a(), success4.a(), success5.a()));
+        }
+
+        E merged = error;
+        merged = add(merged, eor1);
+        merged = add(merged, eor2);
+        merged = add(merged, eor3);
+        merged = add(merged, eor4);
+        merged = add(merged, eor5);
+
+        return new EOr.Failure<>(merged);
+    }
+
+    /**
+     * Combines values of given EOrs with given function if all of them have values, merging all of their failures otherwise
+     *
+     * @param <A1> Type of value of EOr 1
+     * @param <A2> Type of value of EOr 2
+     * @param <A3> Type of value of EOr 3
+     * @param <A4> Type of value of EOr 4
+     * @param <A5> Type of value of EOr 5
+     * @param <A6> Type of value of EOr 6
+     * @param <R> Type of the result
+     *
+     * @param eor1 EOr 1
+     * @param eor2 EOr 2
+     * @param eor3 EOr 3
+     * @param eor4 EOr 4
+     * @param eor5 EOr 5
+     * @param eor6 EOr 6
+     * @param f Function combining values
+     *
+     * @return An EOr containing combined value or merged failures
+     */
+    public <A1, A2, A3, A4, A5, A6, R> EOr<R> mapN(EOr<A1> eor1, EOr<A2> eor2, EOr<A3> eor3, EOr<A4> eor4, EOr<A5> eor5, EOr<A6> eor6, Function6<A1, A2, A3, A4, A5, A6, R> f) {
+        if (eor1 instanceof EOr.Success<A1> success1 &&
+            eor2 instanceof EOr.Success<A2> success2 &&
+            eor3 instanceof EOr.Success<A3> success3 &&
+            eor4 instanceof EOr.Success<A4> success4 &&
+            eor5 instanceof EOr.Success<A5> success5 &&
+            eor6 instanceof EOr.Success<A6> success6) {
+            return new EOr.Success<>(f.apply(success1.a(), success2.a(), success3.a(), success4.a(), success5.a(), success6.a()));
+        }
+
+        E merged = error;
+        merged = add(merged, eor1);
+        merged = add(merged, eor2);
+        merged = add(merged, eor3);
+        merged = add(merged, eor4);
+        merged = add(merged, eor5);
+        merged = add(merged, eor6);
+
+        return new EOr.Failure<>(merged);
+    }
+
+    private E add(E merged, EOr<?> eor) {
+        if (!(eor instanceof EOr.Failure<?> failure)) { return merged; }
+
+        E e = failure.e();
+
+        if (!flat || !isMerged(e)) { return merged.cause(e); }
+
+        List<E> causes = e.causes();
+
+        return merged.causes(causes.subList(error.causes().size(), causes.size()));
+    }
+
+    /** Whether or not given E is a merged failure of this validation, which is the error of this validation with more causes */
+    private boolean isMerged(E e) {
+        List<E> causes = e.causes();
+        List<E> errorCauses = error.causes();
+
+        return causes.size() > errorCauses.size() &&
+               e.code().equals(error.code()) &&
+               e.name().equals(error.name()) &&
+               e.message().equals(error.message()) &&
+               e.data().equals(error.data()) &&
+               e.time().equals(error.time()) &&
+               causes.subList(0, errorCauses.size()).equals(errorCauses);
+    }
+}
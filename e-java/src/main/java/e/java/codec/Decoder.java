@@ -1,6 +1,7 @@
 package e.java.codec;
 
 import e.java.E;
+import e.java.EException;
 import e.java.EOr;
 
 /**
@@ -28,4 +29,9 @@ public interface Decoder<I, O> {
      * A default E to be used when decoding fails
      */
     E decodingError = E.fromName("decoding-error").message("Failed to decode!");
+
+    /**
+     * A shared and stackless exception containing {@link e.java.codec.Decoder#decodingError}, to be thrown when decoding fails
+     */
+    EException decodingException = decodingError.toStacklessException();
 }
@@ -4,12 +4,22 @@ import static e.java.test.Assertions.*;
 import static e.java.test.Helpers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class EOrTest {
     @Test void constructingAnEOr() {
@@ -195,4 +205,160 @@ public class EOrTest {
         assertEquals("{\"name\":\"test\"}", E.fromName("test").toEOr().toString());
         assertEquals("42", EOr.from(42).toString());
     }
+
+    @Test void chainingOperationsOnAFailedEOr() {
+        EOr<String> failure = E.fromName("test").toEOr();
+
+        EOr<Integer> chained = failure.map(String::length)
+                                      .flatMap(i -> EOr.from(i + 1))
+                                      .filter(i -> i > 0)
+                                      .andThen(() -> EOr.from(42))
+                                      .onValue(i -> { throw new IllegalStateException(); });
+
+        // Failure is the same instance all the way
+        assertSame(failure, chained);
+
+        assertEquals(E.fromName("test"), ((EOr.Failure<Integer>) chained).e());
+
+        assertTrue(EOr.class.isSealed());
+        assertEquals(2, EOr.class.getPermittedSubclasses().length);
+    }
+
+    @Test void workingWithPrimitiveEOrs() {
+        E e = E.fromName("test");
+
+        EOrInt i = EOr.from("hello").mapToInt(String::length).map(x -> x * 2).filter(x -> x > 0);
+        assertSame(EOrInt.from(10), i);
+        assertEquals(OptionalInt.of(10), i.value());
+        assertValue(i.boxed(), 10);
+        assertValue(i.mapToObj(Integer::toHexString), "a");
+        assertEquals(new EOrInt.Success(1000), EOrInt.from(500).map(x -> x * 2));
+        assertError(EOrInt.from(-1).filter(x -> x > 0).boxed(), EOr.filteredError.data("value", -1));
+
+        EOrLong l = i.mapToLong(x -> x * 10_000_000_000L);
+        assertEquals(OptionalLong.of(100_000_000_000L), l.value());
+        assertSame(EOrLong.from(-128), EOrLong.from(100).map(x -> x - 228));
+        assertEquals(42L, EOrLong.from(e).getOrElse(() -> 42L));
+
+        EOrDouble d = l.mapToDouble(x -> x / 1e11);
+        assertSame(EOrDouble.from(1.0), d);
+        assertEquals(new EOrDouble.Success(-0.0), EOrDouble.from(-0.0));
+        assertNotEquals(EOrDouble.from(0.0), EOrDouble.from(-0.0));
+        assertEquals(new EOrDouble.Success(0.5), EOrDouble.from(0.5));
+        assertEquals(Double.NaN, EOrDouble.from(Double.NaN).getOrElse(() -> 0.0));
+
+        assertSame(EOrBoolean.from(true), EOr.from(42).mapToBoolean(x -> x > 0));
+        assertSame(EOrBoolean.from(false), EOrBoolean.from(true).map(b -> !b));
+        assertEquals(Optional.of(true), EOrBoolean.from(true).value());
+
+        // Failures are carried along and a failure stays the same instance while chaining operations on its value
+        EOrInt failure = EOr.<String>from(e).mapToInt(String::length);
+        assertEquals(new EOrInt.Failure(e), failure);
+        assertSame(failure, failure.map(x -> x + 1).flatMap(x -> EOrInt.from(x)).filter(x -> x > 0).onValue(x -> { throw new IllegalStateException(); }));
+        assertError(failure.mapToDouble(x -> x).mapToObj(x -> x), e);
+        assertEquals(EOrInt.from(0), failure.orElse(() -> EOrInt.from(0)));
+        assertEquals("test", failure.fold(f -> f.name().orElse(""), String::valueOf));
+        assertError(EOr.<String>from(e).mapToBoolean(String::isEmpty).boxed(), e);
+        assertError(EOr.<String>from(e).mapToLong(String::length).mapError(f -> f.code(1)).boxed(), e.code(1));
+    }
+
+    @Test void sequencingAndTraversingEOrs() {
+        E e1 = E.fromName("test1");
+        E e2 = E.fromName("test2");
+
+        assertValue(EOr.sequence(listOf(EOr.from(1), EOr.from(2), EOr.from(3))), listOf(1, 2, 3));
+        assertValue(EOr.sequence(listOf()), listOf());
+        assertError(EOr.sequence(listOf(EOr.from(1), e1.toEOr(), e2.toEOr())), e1);
+
+        // Works with any Iterable and never looks past the first failure
+        Iterable<EOr<Integer>> iterable = () -> Stream.<EOr<Integer>>of(EOr.from(1), e1.toEOr()).iterator();
+        assertError(EOr.sequence(iterable), e1);
+
+        AtomicInteger calls = new AtomicInteger(0);
+        EOr<List<String>> traversed = EOr.traverse(listOf(1, 2, 3, 4), i -> {
+            calls.incrementAndGet();
+            return i == 2 ? e1.toEOr() : EOr.from(String.valueOf(i));
+        });
+        assertError(traversed, e1);
+        assertEquals(2, calls.get());
+        assertValue(EOr.traverse(listOf(1, 2), i -> EOr.from(i * 2)), listOf(2, 4));
+
+        assertValue(Stream.of(EOr.from(1), EOr.from(2)).collect(EOr.toEOrList()), listOf(1, 2));
+        assertError(Stream.of(EOr.from(1), e1.<Integer>toEOr(), e2.<Integer>toEOr()).collect(EOr.toEOrList()), e1);
+        assertValue(IntStream.range(0, 10_000).parallel().mapToObj(EOr::from).collect(EOr.toEOrList()), IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+        assertError(IntStream.range(0, 10_000).parallel().mapToObj(i -> i % 1000 == 999 ? E.fromCode(i).<Integer>toEOr() : EOr.from(i)).collect(EOr.toEOrList()), E.fromCode(999));
+    }
+
+    @Test void traversingEOrsAccumulatingFailures() throws Exception {
+        Function<Integer, EOr<String>> validate = i -> i % 3 == 0 ? E.fromCode(i).toEOr() : EOr.from(String.valueOf(i));
+
+        assertValue(EOr.traverseAccumulating(listOf(1, 2, 4), validate), listOf("1", "2", "4"));
+        assertError(
+            EOr.traverseAccumulating(listOf(1, 3, 4, 6), validate),
+            EOr.traverseError.causes(E.fromCode(3).data("traverseIndex", 1), E.fromCode(6).data("traverseIndex", 3))
+        );
+
+        List<Integer> many = IntStream.range(1, 100_000).boxed().collect(Collectors.toList());
+        List<Integer> valid = many.stream().filter(i -> i % 3 != 0).collect(Collectors.toList());
+
+        assertValue(EOr.traverseAccumulatingParallel(valid, validate), valid.stream().map(String::valueOf).collect(Collectors.toList()));
+        assertEquals(EOr.traverseAccumulating(many, validate), EOr.traverseAccumulatingParallel(many, validate));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            EOr<List<String>> result = EOr.traverseAccumulatingParallel(many, validate, pool);
+
+            assertEquals(many.size() / 3, result.error().map(e -> e.causes().size()).orElse(0));
+            assertEquals(EOr.traverseAccumulating(many, validate), result);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertValue(EOr.traverseAccumulatingParallel(listOf(), validate), listOf());
+
+        // Both return a mutable list
+        EOr.traverseAccumulating(listOf(1), validate).forEach(list -> list.add("2"));
+        EOr.traverseAccumulatingParallel(listOf(1), validate).forEach(list -> list.add("2"));
+
+        // Position of each failure is recorded next to its own data
+        Function<Integer, EOr<String>> indexedValidate = i -> E.fromName("bad").data("index", "field-3").toEOr();
+        E expected = EOr.traverseError.causes(E.fromName("bad").data("index", "field-3").data("traverseIndex", 0), E.fromName("bad").data("index", "field-3").data("traverseIndex", 1));
+        assertError(EOr.traverseAccumulating(listOf(1, 2), indexedValidate), expected);
+        assertError(EOr.traverseAccumulatingParallel(listOf(1, 2), indexedValidate), expected);
+        assertThrows(IllegalArgumentException.class, () -> EOr.traverseAccumulatingParallel(many, validate, null));
+    }
+
+    @Test void validatingEOrsAccumulatingFailures() {
+        E invalidName = E.fromName("invalid-name");
+        E invalidAge  = E.fromName("invalid-age");
+        E invalidCity = E.fromName("invalid-city");
+
+        Validated validated = Validated.flat();
+
+        assertValue(validated.mapN(EOr.from("Akif"), EOr.from(30), (name, age) -> name + " " + age), "Akif 30");
+        assertValue(validated.mapN(EOr.from(1), EOr.from(2), EOr.from(3), EOr.from(4), EOr.from(5), EOr.from(6), (a, b, c, d, e, f) -> a + b + c + d + e + f), 21);
+        assertError(validated.mapN(invalidName.<String>toEOr(), invalidAge.<Integer>toEOr(), (name, age) -> name + " " + age), Validated.validationError.causes(invalidName, invalidAge));
+        assertError(validated.mapN(EOr.from(1), invalidAge.<Integer>toEOr(), EOr.from(3), (a, b, c) -> a + b + c), Validated.validationError.cause(invalidAge));
+        assertError(validated.mapN(EOr.from(1), EOr.from(2), EOr.from(3), invalidCity.toEOr(), (a, b, c, d) -> a), Validated.validationError.cause(invalidCity));
+        assertError(validated.mapN(invalidName.toEOr(), EOr.from(2), EOr.from(3), EOr.from(4), invalidCity.toEOr(), (a, b, c, d, e) -> a), Validated.validationError.causes(invalidName, invalidCity));
+
+        // A merged failure is flattened in flat mode and kept as is in nested mode
+        EOr<String> person = validated.mapN(invalidName.<String>toEOr(), invalidAge.<Integer>toEOr(), (name, age) -> name);
+
+        assertError(validated.mapN(person, invalidCity.<String>toEOr(), (p, city) -> p), Validated.validationError.causes(invalidName, invalidAge, invalidCity));
+        assertError(Validated.nested().mapN(person, invalidCity.<String>toEOr(), (p, city) -> p), Validated.validationError.causes(Validated.validationError.causes(invalidName, invalidAge), invalidCity));
+
+        E invalidPerson = E.fromName("invalid-person").code(400);
+        assertError(validated.withError(invalidPerson).mapN(person, invalidCity.<String>toEOr(), (p, city) -> p), invalidPerson.causes(Validated.validationError.causes(invalidName, invalidAge), invalidCity));
+
+        // An error with data or causes is flattened too, as long as a failure is that error with more causes
+        E withData = E.fromName("invalid-request").data("requestId", 42).cause(E.fromCode(1));
+        Validated validatedWithData = validated.withError(withData);
+        EOr<String> request = validatedWithData.mapN(invalidName.<String>toEOr(), invalidAge.<Integer>toEOr(), (name, age) -> name);
+        assertError(request, withData.causes(invalidName, invalidAge));
+        assertError(validatedWithData.mapN(request, invalidCity.<String>toEOr(), (r, city) -> r), withData.causes(invalidName, invalidAge, invalidCity));
+        assertError(validatedWithData.mapN(withData.data("requestId", 43).cause(invalidName).<String>toEOr(), invalidCity.<String>toEOr(), (r, city) -> r), withData.causes(withData.data("requestId", 43).cause(invalidName), invalidCity));
+
+        assertThrows(IllegalArgumentException.class, () -> validated.withError(null));
+    }
 }
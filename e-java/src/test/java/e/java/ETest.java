@@ -5,10 +5,19 @@ import static e.java.test.Helpers.*;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ETest {
     @SuppressWarnings("OptionalGetWithoutIsPresent")
@@ -87,6 +96,214 @@ public class ETest {
         assertAlmostSame(now, E.fromNow().time().get());
     }
 
+    @Test void enrichingAnEDoesNotAffectTheEItIsDerivedFrom() {
+        E base = E.fromName("base").cause(E.fromName("cause1")).data("foo", "bar");
+
+        E e1 = base.cause(E.fromName("cause2")).data("baz", 1);
+        E e2 = base.cause(E.fromName("cause3")).data("baz", 2);
+        E e3 = e1.data("foo", "qux");
+
+        assertCauses(base, listOf(E.fromName("cause1")));
+        assertCauses(e1, listOf(E.fromName("cause1"), E.fromName("cause2")));
+        assertCauses(e2, listOf(E.fromName("cause1"), E.fromName("cause3")));
+
+        E longer = e1.causes(E.fromCode(1), E.fromCode(2));
+        E longer1 = longer.cause(E.fromCode(3));
+        E longer2 = longer.cause(E.fromCode(4));
+        assertCauses(longer1, listOf(E.fromName("cause1"), E.fromName("cause2"), E.fromCode(1), E.fromCode(2), E.fromCode(3)));
+        assertCauses(longer2, listOf(E.fromName("cause1"), E.fromName("cause2"), E.fromCode(1), E.fromCode(2), E.fromCode(4)));
+        assertCauses(longer, listOf(E.fromName("cause1"), E.fromName("cause2"), E.fromCode(1), E.fromCode(2)));
+
+        assertData(base, mapOf(mapEntry("foo", "bar")));
+        assertData(e1, mapOf(mapEntry("foo", "bar"), mapEntry("baz", "1")));
+        assertData(e2, mapOf(mapEntry("foo", "bar"), mapEntry("baz", "2")));
+        assertEquals(listOf("foo", "baz"), List.copyOf(e3.data().keySet()));
+        assertEquals("qux", e3.data().get("foo"));
+
+        // "Aa" and "BB" have the same hash code
+        E e4 = E.fromData("Aa", 1).data("BB", 2).data("Aa", 3);
+        assertEquals(listOf("Aa", "BB"), List.copyOf(e4.data().keySet()));
+        assertEquals("3", e4.data().get("Aa"));
+        assertEquals("2", e4.data().get("BB"));
+
+        E e5 = E.fromData("a", 1).data("b", 2).data("c", 3).data("d", 4).data("Aa", 5).data("BB", 6).data("a", 7).data("Aa", 8);
+        assertEquals(listOf("a", "b", "c", "d", "Aa", "BB"), List.copyOf(e5.data().keySet()));
+        assertEquals("7", e5.data().get("a"));
+        assertEquals("8", e5.data().get("Aa"));
+        assertEquals("6", e5.data().get("BB"));
+        assertEquals(e5.data(), new LinkedHashMap<>(e5.data()));
+
+        E many = E.empty;
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            many = many.data("key" + i, i).cause(E.fromCode(i));
+            expected.put("key" + i, String.valueOf(i));
+        }
+
+        assertEquals(expected, many.data());
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(many.data().keySet()));
+        assertEquals(1000, many.causes().size());
+        assertEquals(E.fromCode(999), many.causes().get(999));
+    }
+
+    @Test void equalityAndHashCodeOfE() {
+        E cause = E.fromName("cause").data("foo", "bar");
+        E e1 = E.fromCode(1).name("test").cause(cause).data("baz", 42).time(123456789L);
+        E e2 = new E(1, "test", null, listOf(E.fromData("foo", "bar").name("cause")), mapOf(mapEntry("baz", "42")), 123456789L);
+
+        assertEquals(e1, e2);
+        assertEquals(e1.hashCode(), e2.hashCode());
+        assertEquals(e1.hashCode(), e1.hashCode());
+        assertEquals(e1, e2);
+
+        E e3 = e1.message("different");
+        E e4 = e1.cause(cause.data("foo", "baz"));
+
+        assertNotEquals(e1.hashCode(), e3.hashCode());
+        // Same whether or not hash codes of causes are computed before
+        assertEquals(e3.hashCode(), new E(1, "test", "different", listOf(E.fromData("foo", "bar").name("cause")), mapOf(mapEntry("baz", "42")), 123456789L).hashCode());
+        assertNotEquals(e1, e3);
+        assertNotEquals(e1, e4);
+        assertNotEquals(e4, e1.cause(cause));
+    }
+
+    @Test void buildingAnE() {
+        assertEquals(E.empty, E.builder().build());
+
+        E cause1 = E.fromName("cause1");
+        E cause2 = E.fromName("cause2");
+
+        E expected = E.fromCode(1)
+                      .name("test")
+                      .message("Test")
+                      .causes(cause1, cause2)
+                      .data("foo", "bar")
+                      .data("baz", 42)
+                      .time(123456789L);
+
+        E built = E.builder()
+                   .code(1)
+                   .name("test")
+                   .message("Test")
+                   .cause(cause1)
+                   .causes(listOf(cause2))
+                   .data(mapOf(mapEntry("foo", "bar")))
+                   .data("baz", 42)
+                   .time(123456789L)
+                   .build();
+
+        assertEquals(expected, built);
+        assertEquals(expected.toString(), built.toString());
+        assertEquals(expected, expected.toBuilder().build());
+        assertEquals(expected.data("qux", true), expected.toBuilder().data("qux", true).build());
+        assertCauses(expected, listOf(cause1, cause2));
+
+        E.Builder builder = E.builder().name("test");
+        builder.build();
+
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalStateException.class, () -> builder.name("test2"));
+    }
+
+    @Test void convertingAnEToString() throws Exception {
+        assertEquals("{}", E.empty.toString());
+
+        E e = new E(
+            1,
+            "test",
+            "Test",
+            listOf(E.fromName("cause1"), E.fromCode(2).cause(E.empty)),
+            mapOf(mapEntry("foo", "bar")),
+            123456789L
+        );
+        String expected = "{\"code\":1,\"name\":\"test\",\"message\":\"Test\",\"causes\":[{\"name\":\"cause1\"},{\"code\":2,\"causes\":[{}]}],\"data\":{\"foo\":\"bar\"},\"time\":123456789}";
+
+        assertEquals(expected, e.toString());
+        assertEquals("prefix" + expected, e.appendTo(new StringBuilder("prefix")).toString());
+        assertEquals(expected, e.toException().getMessage());
+
+        StringWriter writer = new StringWriter();
+        e.appendTo(writer);
+        assertEquals(expected, writer.toString());
+
+        assertEquals("{\"time\":1}", E.fromTime(1L).toString());
+        assertEquals(
+            "{\"message\":\"\\\"quoted\\\" \\\\ line\\nbreak\\ttab \\u0001 \\u2028 \u00fc\",\"data\":{\"k\\\"ey\":\"null\"}}",
+            E.fromMessage("\"quoted\" \\ line\nbreak\ttab \u0001 \u2028 \u00fc").data("k\"ey", null).toString()
+        );
+    }
+
+    @Test void convertingAnEToStringRepeatedly() {
+        E cause = E.fromName("cause");
+        E e = E.fromName("test").cause(cause);
+
+        String string = e.toString();
+        assertSame(string, e.toString());
+        assertSame(string, e.toException().getMessage());
+        assertEquals("{\"name\":\"test\",\"causes\":[" + cause + "]}", string);
+
+        E large = E.fromData("large", "x".repeat(E.maxCachedStringLength));
+        String largeString = large.toString();
+        assertEquals(largeString, large.toString());
+        assertNotSame(largeString, large.toString());
+
+        // Rendering causes first doesn't change how an E renders them
+        E fresh = E.fromCode(0);
+        E rendered = E.fromCode(0);
+        E middle = null;
+        for (int i = 1; i <= 100; i++) {
+            fresh = E.fromCode(i).cause(fresh);
+            rendered = E.fromCode(i).cause(rendered);
+            if (i == 50) { middle = rendered; }
+        }
+        middle.toString();
+        assertEquals(fresh.toString(), rendered.toString());
+    }
+
+    @Test void convertingAnEToStringWithLimits() {
+        ELimits limits = new ELimits(1, 2, 1, 3);
+
+        E e = E.fromName("test").message("\ud83d\ude00\ud83d\ude00")
+               .causes(E.fromCode(1).cause(E.fromCode(2)), E.fromCode(3), E.fromCode(4))
+               .data("k", "v")
+               .data("key", "value");
+
+        assertEquals(
+            "{\"name\":\"tes...1 more\",\"message\":\"\ud83d\ude00...2 more\",\"causes\":[{\"code\":1,\"causes\":[\"...1 more\"]},{\"code\":3},\"...1 more\"],\"data\":{\"k\":\"v\",\"...\":\"...1 more\"}}",
+            e.toString(limits)
+        );
+        assertEquals("{\"causes\":[\"...1 more\"]}", E.empty.cause(E.empty).toString(limits.maxDepth(0)));
+        assertEquals("{\"causes\":[\"...1 more\"]}", E.empty.cause(E.empty).toString(limits.maxCauses(0)));
+        assertEquals(e.toString(), e.toString(ELimits.unlimited));
+
+        assertThrows(IllegalArgumentException.class, () -> new ELimits(-1, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> limits.maxStringLength(-1));
+    }
+
+    @Test void handlingADeepChainOfCauses() {
+        int depth = 100_000;
+
+        E e1 = E.fromCode(0);
+        E e2 = E.fromCode(0);
+        for (int i = 1; i <= depth; i++) {
+            e1 = E.fromCode(i).cause(e1);
+            e2 = E.fromCode(i).cause(e2);
+        }
+
+        assertEquals(e1, e2);
+        assertEquals(e1.hashCode(), e2.hashCode());
+        assertNotEquals(e1, E.fromCode(depth).cause(e2));
+
+        String string = e1.toString();
+        // One more array for the marker of truncated causes
+        assertEquals(ELimits.defaults.maxDepth() + 1, string.split("\\[").length - 1);
+        assertTrue(string.endsWith("\"...1 more\"]}" + "]}".repeat(ELimits.defaults.maxDepth())));
+
+        String unlimited = e1.toString(ELimits.unlimited);
+        assertEquals(depth, unlimited.split("\\[").length - 1);
+        assertTrue(unlimited.endsWith("{\"code\":0}" + "]}".repeat(depth)));
+    }
+
     @Test void convertingAnEToAnEOr() {
         E e             = E.fromName("test").message("Test");
         EOr<String> eor = e.toEOr();
@@ -101,8 +318,127 @@ public class ETest {
         assertEquals(new EException(e), ex);
     }
 
+    @Test void convertingAnEToAStacklessEException() {
+        E e           = E.fromName("test").message("Test");
+        EException ex = e.toStacklessException();
+
+        assertEquals(new EException(e), ex);
+        assertEquals(e.toString(), ex.getMessage());
+        assertEquals(0, ex.getStackTrace().length);
+
+        ex.addSuppressed(new Exception("suppressed"));
+        assertEquals(0, ex.getSuppressed().length);
+
+        assertEquals(e, E.fromThrowable(EException.stackless(e)));
+        assertEquals(e, EOr.catching(() -> { throw ex; }, E::fromThrowable).error().orElse(E.empty));
+    }
+
     @Test void constructingAnEFromAThrowable() {
         assertEquals(E.fromMessage("Test"), E.fromThrowable(new Exception("Test")));
         assertEquals(E.fromName("test"), E.fromThrowable(E.fromName("test").toException()));
     }
+
+    @Test void usingCanonicalNamesAndDataKeys() {
+        ENameRegistry registry = ENameRegistry.get();
+        String name = "registry-test-name";
+        String key  = "registry-test-key";
+
+        registry.register(name, key);
+
+        assertSame(name, registry.canonical(new String(name)));
+        assertSame(name, E.fromName(new String(name)).name().orElse(null));
+        assertSame(name, E.builder().name(new String(name)).build().name().orElse(null));
+        assertSame(key, E.empty.data(new String(key), "value").data().keySet().iterator().next());
+
+        String unregistered = new String("registry-test-unregistered");
+        assertSame(unregistered, E.fromName(unregistered).name().orElse(null));
+
+        E template = E.fromName("registry-test-template").message("Test").data("registry-test-template-key", "value");
+        registry.register(template);
+
+        assertSame(template, registry.canonical(E.fromName("registry-test-template").message("Test").data("registry-test-template-key", "value")));
+        assertSame("registry-test-template-key", registry.canonical(new String("registry-test-template-key")));
+        assertEquals(E.fromName("registry-test-template"), registry.canonical(E.fromName("registry-test-template")));
+    }
+
+    @Test void registeringTemplatesToACatalog() {
+        ECatalog catalog = ECatalog.get();
+        int size = catalog.size();
+
+        E notFound = catalog.register(1001, E.fromName("catalog-test-not-found").message("Not found!").code(404));
+        E invalid  = catalog.register(1000, E.fromName("catalog-test-invalid").code(400));
+
+        assertEquals(Optional.of(1001), notFound.templateId());
+        assertEquals(Optional.of(1000), invalid.templateId());
+        assertEquals(size + 2, catalog.size());
+        assertSame(notFound, catalog.byId(1001).orElse(null));
+        assertSame(invalid, catalog.byName("catalog-test-invalid").orElse(null));
+        assertEquals(Optional.empty(), catalog.byId(-1));
+        assertEquals(Optional.empty(), catalog.byId(999));
+        assertEquals(Optional.empty(), catalog.byId(1002));
+        assertEquals(Optional.empty(), catalog.byName("catalog-test-unknown"));
+
+        // Registering an equal template with the same id gives the catalogued one
+        assertSame(notFound, catalog.register(1001, E.fromName("catalog-test-not-found").message("Not found!").code(404)));
+
+        // Derived errors reference their template but equality is about the content
+        E derived = notFound.message("User is not found!").data("id", 1).now();
+        assertEquals(notFound.templateId(), derived.templateId());
+        assertSame(notFound, derived.template().orElse(null));
+        assertEquals(notFound.templateId(), notFound.toBuilder().data("id", 1).build().templateId());
+        assertEquals(notFound.templateId(), notFound.code(404).name("catalog-test-not-found").templateId());
+        assertEquals(E.fromName("catalog-test-not-found").message("Not found!").code(404), notFound);
+        assertEquals(Optional.empty(), E.fromName("catalog-test-not-found").templateId());
+        assertEquals(Optional.empty(), E.empty.template());
+
+        // Changing code or name makes it another error, no longer derived from the template
+        assertEquals(Optional.empty(), notFound.code(410).templateId());
+        assertEquals(Optional.empty(), notFound.name("catalog-test-gone").templateId());
+        assertEquals(Optional.empty(), notFound.toBuilder().code(410).build().templateId());
+        assertEquals(Optional.empty(), notFound.toBuilder().name(null).build().templateId());
+
+        assertEquals(ECatalog.fingerprint(E.fromName("catalog-test-not-found").message("Not found!").code(404)), ECatalog.fingerprint(notFound));
+        assertNotEquals(ECatalog.fingerprint(notFound), ECatalog.fingerprint(notFound.message("Other")));
+
+        assertThrows(IllegalArgumentException.class, () -> catalog.register(1002, null));
+        assertThrows(IllegalArgumentException.class, () -> catalog.register(-1, E.fromName("catalog-test-other")));
+        assertThrows(IllegalArgumentException.class, () -> catalog.register(1002, E.fromCode(1)));
+        assertThrows(IllegalArgumentException.class, () -> catalog.register(1002, E.fromName("catalog-test-other").data("k", "v")));
+        assertThrows(IllegalArgumentException.class, () -> catalog.register(1002, E.fromName("catalog-test-not-found").code(404)));
+        assertThrows(IllegalArgumentException.class, () -> catalog.register(1001, E.fromName("catalog-test-not-found").code(410)));
+        assertThrows(IllegalArgumentException.class, () -> catalog.register(1001, E.fromName("catalog-test-other")));
+        assertEquals(size + 2, catalog.size());
+    }
+
+    @Test void addingLazyData() {
+        int[] calls = new int[1];
+        Supplier<Object> value = () -> {
+            calls[0]++;
+            return 42;
+        };
+
+        E e = E.fromName("test").dataLazy("lazy", value).data("eager", 1);
+
+        // Not converted when the error is dropped or only its other parts are read
+        assertEquals("fallback", e.<String>toEOr().getOrElse(() -> "fallback"));
+        assertEquals(Optional.of("test"), e.name());
+        assertEquals(2, e.data().size());
+        assertTrue(e.data().containsKey("lazy"));
+        assertEquals(0, calls[0]);
+
+        assertEquals("42", e.data().get("lazy"));
+        assertEquals(E.fromName("test").data("lazy", 42).data("eager", 1), e);
+        assertEquals("{\"name\":\"test\",\"data\":{\"lazy\":\"42\",\"eager\":\"1\"}}", e.toString());
+        assertEquals(1, calls[0]);
+
+        assertEquals(E.fromData("lazy", "null"), E.fromDataLazy("lazy", () -> null));
+        assertEquals(E.fromData("lazy", "42"), E.builder().dataLazy("lazy", value).build());
+        assertEquals(E.fromData("k", "v").data("lazy", "42"), E.fromData("k", "v").dataLazy("lazy", value).data(mapOf(mapEntry("k", "v"))));
+
+        E large = E.fromData(mapOf(mapEntry("1", "1"), mapEntry("2", "2"), mapEntry("3", "3"), mapEntry("4", "4"))).dataLazy("lazy", value);
+        assertEquals("42", large.data().get("lazy"));
+        assertEquals(4, calls[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> E.empty.dataLazy("lazy", null));
+    }
 }